@@ -24,4 +24,10 @@ public @interface CSVBinding {
 	 * @return The value on the row of this position.
 	 */
 	int order() default 0;
+
+	/**
+	 * Shares the instances of the equal values of a String column, for the columns with few distinct values.
+	 * @return true to deduplicate the values
+	 */
+	boolean dedup() default false;
 }
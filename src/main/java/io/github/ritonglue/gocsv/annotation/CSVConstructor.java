@@ -0,0 +1,17 @@
+package io.github.ritonglue.gocsv.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Specifies the constructor used to create the object while reading.
+ * The constructor takes one parameter per non-static field, in declaration order,
+ * like the canonical constructor of a record.
+ * The canonical constructor of a record is used without annotation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(value = { ElementType.CONSTRUCTOR })
+public @interface CSVConstructor {
+}
@@ -25,4 +25,18 @@ public @interface Convert {
 	 * @return the date or time pattern
 	 */
 	String pattern() default "";
+
+	/**
+	 * Specifies the number of converted values kept for the repeated values of the column,
+	 * see {@link io.github.ritonglue.gocsv.convert.CachingConverter}
+	 * @return the cache size, 0 for no cache
+	 */
+	int cacheSize() default 0;
+
+	/**
+	 * Specifies the number of decimals of a <code>long</code> fixed point column,
+	 * see {@link io.github.ritonglue.gocsv.convert.ScaledLongConverter}
+	 * @return the scale, -1 if none
+	 */
+	int scale() default -1;
 }
@@ -0,0 +1,561 @@
+package io.github.ritonglue.gocsv.apt;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+import io.github.ritonglue.gocsv.annotation.Access;
+import io.github.ritonglue.gocsv.annotation.AccessType;
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+import io.github.ritonglue.gocsv.annotation.CSVConstructor;
+import io.github.ritonglue.gocsv.annotation.Convert;
+import io.github.ritonglue.gocsv.annotation.PostLoad;
+import io.github.ritonglue.gocsv.annotation.PostPersist;
+import io.github.ritonglue.gocsv.annotation.PrePersist;
+import io.github.ritonglue.gocsv.annotation.Transient;
+import io.github.ritonglue.gocsv.processor.Binder;
+import io.github.ritonglue.gocsv.processor.CallbackEnum;
+
+/**
+ * <p>
+ * Annotation processor generating a reflection free {@link Binder} for the classes using
+ * the go-csv annotations. It applies the rules of the engine at compile time :
+ * field or property access, {@link CSVBinding}, {@link Convert}, {@link Transient} and the life cycle annotations.
+ * </p>
+ * <p>
+ * A class is skipped (and parsed by reflection at runtime) when the generated code can't reach it :
+ * private class or no-arg constructor, constructor binding, private life cycle method, final field.
+ * A private field is read and written directly through a {@link java.lang.invoke.VarHandle} of a private lookup,
+ * as the reflection does : its bean getter and setter are not called.
+ * </p>
+ * <p>
+ * The processor is not registered in the main jar : it is enabled with the <code>processor</code> classifier
+ * artifact in the annotation processor path.
+ * </p>
+ */
+public class BinderProcessor extends AbstractProcessor {
+	private static final String BINDER = Binder.class.getCanonicalName();
+	private static final String CALLBACK_ENUM = CallbackEnum.class.getCanonicalName();
+
+	private final Set<String> done = new HashSet<>();
+	private Elements elements;
+	private Types types;
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		Set<String> set = new HashSet<>();
+		set.add(Access.class.getCanonicalName());
+		set.add(CSVBinding.class.getCanonicalName());
+		set.add(Convert.class.getCanonicalName());
+		set.add(Transient.class.getCanonicalName());
+		set.add(PostLoad.class.getCanonicalName());
+		set.add(PrePersist.class.getCanonicalName());
+		set.add(PostPersist.class.getCanonicalName());
+		return set;
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		this.elements = processingEnv.getElementUtils();
+		this.types = processingEnv.getTypeUtils();
+		Map<String, TypeElement> classes = new LinkedHashMap<>();
+		for(TypeElement annotation : annotations) {
+			for(Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				TypeElement type = element instanceof TypeElement ? (TypeElement) element : enclosingType(element);
+				if(type != null) {
+					classes.putIfAbsent(type.getQualifiedName().toString(), type);
+				}
+			}
+		}
+		for(TypeElement type : classes.values()) {
+			if(!done.add(type.getQualifiedName().toString())) continue;
+			try {
+				String source = generate(type);
+				write(type, source);
+			} catch(SkipException e) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE
+					, "no csv binder generated: " + e.getMessage(), type);
+			} catch(IOException e) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR
+					, "can't write csv binder: " + e.getMessage(), type);
+			}
+		}
+		return false;
+	}
+
+	private static TypeElement enclosingType(Element element) {
+		Element e = element.getEnclosingElement();
+		return e instanceof TypeElement ? (TypeElement) e : null;
+	}
+
+	/**
+	 * Thrown when the binder can't be generated
+	 */
+	private static class SkipException extends Exception {
+		private static final long serialVersionUID = 1L;
+
+		SkipException(String message) {
+			super(message);
+		}
+	}
+
+	/**
+	 * A bound field or property
+	 */
+	private static class Column {
+		private String name;
+		private String header = "";
+		private int order;
+		private TypeMirror type;
+		private String converter;
+		private String pattern = "";
+		private String getter;
+		/** the setter statement, %s for the value */
+		private String setter;
+		private boolean dedup;
+		private int cacheSize;
+		private int scale = -1;
+		/** true for a private field, accessed through a VarHandle */
+		private boolean varHandle;
+	}
+
+	private String generate(TypeElement type) throws SkipException {
+		checkClass(type);
+		Map<String, Property> properties = properties(type);
+		boolean isFieldAccess = isFieldAccess(type, properties);
+		List<Column> columns = isFieldAccess ? fieldColumns(type) : propertyColumns(properties);
+		Map<CallbackEnum, String> callbacks = callbacks(type);
+
+		String typeName = type.getQualifiedName().toString();
+		PackageElement pkg = elements.getPackageOf(type);
+		StringBuilder sb = new StringBuilder();
+		if(!pkg.isUnnamed()) {
+			sb.append("package ").append(pkg.getQualifiedName()).append(";\n\n");
+		}
+		sb.append("/**\n * Generated by ").append(BinderProcessor.class.getName()).append(", do not edit.\n */\n");
+		sb.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+		sb.append("public final class ").append(binderSimpleName(type))
+			.append(" implements ").append(BINDER).append('<').append(typeName).append("> {\n");
+		//declared first : the column lambdas can't reference them forward
+		varHandles(sb, typeName, columns);
+		sb.append("\tprivate static final java.util.List<").append(BINDER).append(".Column<").append(typeName)
+			.append(">> COLUMNS = java.util.List.of(");
+		String separator = "\n\t\t  ";
+		for(Column column : columns) {
+			sb.append(separator);
+			separator = "\n\t\t, ";
+			String factory = primitiveFactory(column.type);
+			if(factory == null) {
+				sb.append("new ").append(BINDER).append(".Column<").append(typeName).append(">(");
+			} else {
+				//unboxed accessors
+				sb.append(BINDER).append(".Column.<").append(typeName).append(">").append(factory).append("(");
+			}
+			sb.append(literal(column.name)).append(", ")
+				.append(literal(column.header)).append(", ")
+				.append(column.order).append(", ");
+			if(factory == null) {
+				sb.append(types.erasure(column.type)).append(".class, ");
+			}
+			sb.append(column.converter == null ? "null" : "() -> new " + column.converter + "()").append(", ")
+				.append(literal(column.pattern)).append(", ")
+				.append("t -> ").append(column.getter).append(", ")
+				.append(column.setter == null ? "null" : "(t, v) -> " + String.format(column.setter, factory == null ? cast(column.type) + "v" : "v"))
+				.append(')');
+			if(column.dedup) {
+				sb.append(".dedup()");
+			}
+			if(column.cacheSize > 0) {
+				sb.append(".cache(").append(column.cacheSize).append(')');
+			}
+			if(column.scale >= 0) {
+				sb.append(".scale(").append(column.scale).append(')');
+			}
+		}
+		sb.append(");\n\n");
+		sb.append("\t@Override\n\tpublic Class<").append(typeName).append("> type() {\n");
+		sb.append("\t\treturn ").append(typeName).append(".class;\n\t}\n\n");
+		sb.append("\t@Override\n\tpublic java.util.List<").append(BINDER).append(".Column<").append(typeName).append(">> columns() {\n");
+		sb.append("\t\treturn COLUMNS;\n\t}\n\n");
+		sb.append("\t@Override\n\tpublic ").append(typeName).append(" newInstance() {\n");
+		sb.append("\t\treturn new ").append(typeName).append("();\n\t}\n\n");
+		sb.append("\t@Override\n\tpublic java.util.function.Consumer<? super ").append(typeName).append("> callback(")
+			.append(CALLBACK_ENUM).append(" callback) {\n");
+		sb.append("\t\tswitch(callback) {\n");
+		for(Map.Entry<CallbackEnum, String> e : callbacks.entrySet()) {
+			sb.append("\t\tcase ").append(e.getKey().name()).append(":\n");
+			sb.append("\t\t\treturn t -> t.").append(e.getValue()).append("();\n");
+		}
+		sb.append("\t\tdefault:\n\t\t\treturn null;\n\t\t}\n\t}\n}\n");
+		return sb.toString();
+	}
+
+	/**
+	 * Declares the VarHandles of the private fields : the binder is in the package of the class, so in its module
+	 */
+	private void varHandles(StringBuilder sb, String typeName, List<Column> columns) {
+		boolean any = false;
+		for(Column column : columns) {
+			if(!column.varHandle) continue;
+			any = true;
+			sb.append("\tprivate static final java.lang.invoke.VarHandle ").append(varHandleName(column)).append(";\n");
+		}
+		if(!any) return;
+		sb.append("\n\tstatic {\n\t\ttry {\n");
+		sb.append("\t\t\tjava.lang.invoke.MethodHandles.Lookup lookup = java.lang.invoke.MethodHandles.privateLookupIn(")
+			.append(typeName).append(".class, java.lang.invoke.MethodHandles.lookup());\n");
+		for(Column column : columns) {
+			if(!column.varHandle) continue;
+			sb.append("\t\t\t").append(varHandleName(column)).append(" = lookup.findVarHandle(").append(typeName).append(".class, ")
+				.append(literal(column.name)).append(", ").append(types.erasure(column.type)).append(".class);\n");
+		}
+		sb.append("\t\t} catch(ReflectiveOperationException e) {\n\t\t\tthrow new ExceptionInInitializerError(e);\n\t\t}\n\t}\n\n");
+	}
+
+	private static String varHandleName(Column column) {
+		return "FIELD_" + column.name;
+	}
+
+	private String binderSimpleName(TypeElement type) {
+		String binaryName = elements.getBinaryName(type).toString();
+		PackageElement pkg = elements.getPackageOf(type);
+		if(!pkg.isUnnamed()) {
+			binaryName = binaryName.substring(pkg.getQualifiedName().length() + 1);
+		}
+		return binaryName.replace('$', '_') + Binder.SUFFIX;
+	}
+
+	private void write(TypeElement type, String source) throws IOException {
+		PackageElement pkg = elements.getPackageOf(type);
+		String name = binderSimpleName(type);
+		if(!pkg.isUnnamed()) {
+			name = pkg.getQualifiedName() + "." + name;
+		}
+		try(PrintWriter writer = new PrintWriter(processingEnv.getFiler().createSourceFile(name, type).openWriter())) {
+			writer.print(source);
+		}
+	}
+
+	private void checkClass(TypeElement type) throws SkipException {
+		if(type.getKind() != ElementKind.CLASS) {
+			throw new SkipException("not a class");
+		}
+		Set<Modifier> modifiers = type.getModifiers();
+		if(modifiers.contains(Modifier.ABSTRACT)) {
+			throw new SkipException("abstract class");
+		}
+		if(!type.getTypeParameters().isEmpty()) {
+			throw new SkipException("generic class");
+		}
+		for(Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+			TypeElement t = (TypeElement) e;
+			if(t.getModifiers().contains(Modifier.PRIVATE)) {
+				throw new SkipException("private class");
+			}
+			if(t.getNestingKind() == NestingKind.MEMBER) {
+				if(!t.getModifiers().contains(Modifier.STATIC) && t.getEnclosingElement().getKind() == ElementKind.CLASS) {
+					throw new SkipException("inner class");
+				}
+			} else if(t.getNestingKind() != NestingKind.TOP_LEVEL) {
+				throw new SkipException("local class");
+			}
+		}
+		boolean constructor = false;
+		for(ExecutableElement c : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+			if(c.getAnnotation(CSVConstructor.class) != null) {
+				throw new SkipException("constructor binding");
+			}
+			if(c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE)) {
+				constructor = true;
+			}
+		}
+		if(!constructor) {
+			throw new SkipException("no accessible no-arg constructor");
+		}
+	}
+
+	/**
+	 * Bean property, as found by the Introspector
+	 */
+	private static class Property {
+		private ExecutableElement getter;
+		private ExecutableElement setter;
+	}
+
+	private Map<String, Property> properties(TypeElement type) {
+		//sorted by name, as the Introspector does
+		Map<String, Property> map = new TreeMap<>();
+		List<ExecutableElement> setters = new ArrayList<>();
+		for(ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+			TypeElement owner = (TypeElement) method.getEnclosingElement();
+			if(owner.getQualifiedName().contentEquals("java.lang.Object")) continue;
+			Set<Modifier> modifiers = method.getModifiers();
+			if(!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)) continue;
+			String name = method.getSimpleName().toString();
+			TypeMirror returnType = method.getReturnType();
+			int count = method.getParameters().size();
+			if(count == 0 && name.startsWith("is") && name.length() > 2 && returnType.getKind() == TypeKind.BOOLEAN) {
+				//is has priority over get
+				map.computeIfAbsent(decapitalize(name.substring(2)), k -> new Property()).getter = method;
+			} else if(count == 0 && name.startsWith("get") && name.length() > 3 && returnType.getKind() != TypeKind.VOID) {
+				Property property = map.computeIfAbsent(decapitalize(name.substring(3)), k -> new Property());
+				if(property.getter == null) property.getter = method;
+			} else if(count == 1 && name.startsWith("set") && name.length() > 3 && returnType.getKind() == TypeKind.VOID) {
+				setters.add(method);
+			}
+		}
+		for(ExecutableElement setter : setters) {
+			Property property = map.get(decapitalize(setter.getSimpleName().toString().substring(3)));
+			if(property == null || property.getter == null || property.setter != null) continue;
+			TypeMirror type1 = types.erasure(property.getter.getReturnType());
+			TypeMirror type2 = types.erasure(setter.getParameters().get(0).asType());
+			if(types.isSameType(type1, type2)) {
+				property.setter = setter;
+			}
+		}
+		map.values().removeIf(o -> o.getter == null);
+		return map;
+	}
+
+	/**
+	 * Same as java.beans.Introspector.decapitalize
+	 */
+	private static String decapitalize(String name) {
+		if(name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+			return name;
+		}
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
+	private static boolean isFieldAccess(TypeElement type, Map<String, Property> properties) {
+		Access access = type.getAnnotation(Access.class);
+		if(access != null) {
+			return access.value() != AccessType.PROPERTY;
+		}
+		for(Property property : properties.values()) {
+			ExecutableElement getter = property.getter;
+			if(getter.getAnnotation(CSVBinding.class) != null || getter.getAnnotation(Convert.class) != null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private List<Column> fieldColumns(TypeElement type) throws SkipException {
+		List<Column> columns = new ArrayList<>();
+		for(VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+			Set<Modifier> modifiers = field.getModifiers();
+			if(modifiers.contains(Modifier.STATIC)) continue;
+			Column column = column(field, field.getSimpleName().toString(), field.asType());
+			if(column == null) continue;
+			if(modifiers.contains(Modifier.FINAL)) {
+				throw new SkipException("final field " + column.name);
+			}
+			if(modifiers.contains(Modifier.PRIVATE)) {
+				//set directly as the reflection does, not through its setter
+				TypeMirror erasure = types.erasure(column.type);
+				column.varHandle = true;
+				column.getter = "(" + erasure + ") " + varHandleName(column) + ".get(t)";
+				//exact value type : (int) (java.lang.Integer) v for a boxed value
+				String value = column.type.getKind().isPrimitive() && primitiveFactory(column.type) == null ? "(" + erasure + ") %s" : "%s";
+				column.setter = varHandleName(column) + ".set(t, " + value + ")";
+			} else {
+				column.getter = "t." + column.name;
+				column.setter = "t." + column.name + " = %s";
+			}
+			columns.add(column);
+		}
+		return columns;
+	}
+
+	private List<Column> propertyColumns(Map<String, Property> properties) throws SkipException {
+		List<Column> columns = new ArrayList<>();
+		for(Map.Entry<String, Property> e : properties.entrySet()) {
+			Property property = e.getValue();
+			Column column = column(property.getter, e.getKey(), property.getter.getReturnType());
+			if(column == null) continue;
+			column.getter = "t." + property.getter.getSimpleName() + "()";
+			if(property.setter != null) {
+				column.setter = "t." + property.setter.getSimpleName() + "(%s)";
+			}
+			columns.add(column);
+		}
+		return columns;
+	}
+
+	/**
+	 * @return the Column factory of the primitives read and written without boxing, null otherwise
+	 */
+	private static String primitiveFactory(TypeMirror type) {
+		switch(type.getKind()) {
+		case INT:
+			return "ofInt";
+		case LONG:
+			return "ofLong";
+		case DOUBLE:
+			return "ofDouble";
+		case BOOLEAN:
+			return "ofBoolean";
+		default:
+			return null;
+		}
+	}
+
+	private String cast(TypeMirror type) {
+		if(type.getKind().isPrimitive()) {
+			return "(" + types.boxedClass(types.getPrimitiveType(type.getKind())).getQualifiedName() + ") ";
+		}
+		return "(" + types.erasure(type) + ") ";
+	}
+
+	/**
+	 * @return the column, null if transient
+	 */
+	private Column column(Element element, String name, TypeMirror type) throws SkipException {
+		if(element.getAnnotation(Transient.class) != null) {
+			return null;
+		}
+		Column column = new Column();
+		column.name = name;
+		column.type = type;
+		CSVBinding binding = element.getAnnotation(CSVBinding.class);
+		if(binding != null) {
+			column.header = binding.header();
+			column.order = binding.order();
+			column.dedup = binding.dedup();
+		}
+		Convert convert = element.getAnnotation(Convert.class);
+		if(convert != null) {
+			column.pattern = convert.pattern();
+			column.cacheSize = convert.cacheSize();
+			column.scale = convert.scale();
+			column.converter = converter(element);
+		}
+		return column;
+	}
+
+	/**
+	 * @return the converter class name, null if none or no no-arg constructor
+	 */
+	private String converter(Element element) throws SkipException {
+		TypeMirror mirror = null;
+		for(AnnotationMirror am : element.getAnnotationMirrors()) {
+			TypeElement annotation = (TypeElement) am.getAnnotationType().asElement();
+			if(!annotation.getQualifiedName().contentEquals(Convert.class.getCanonicalName())) continue;
+			for(Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : am.getElementValues().entrySet()) {
+				if(e.getKey().getSimpleName().contentEquals("converter")) {
+					mirror = (TypeMirror) e.getValue().getValue();
+				}
+			}
+		}
+		if(mirror == null || mirror.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		TypeElement converter = (TypeElement) ((DeclaredType) mirror).asElement();
+		if(converter.getNestingKind() == NestingKind.MEMBER && !converter.getModifiers().contains(Modifier.STATIC)) {
+			//inner class : no no-arg constructor
+			return null;
+		}
+		ExecutableElement constructor = null;
+		for(ExecutableElement c : ElementFilter.constructorsIn(converter.getEnclosedElements())) {
+			if(c.getParameters().isEmpty()) constructor = c;
+		}
+		if(constructor == null) {
+			return null;
+		}
+		if(!constructor.getModifiers().contains(Modifier.PUBLIC)) {
+			throw new SkipException("converter constructor not public " + converter);
+		}
+		for(Element e = converter; e instanceof TypeElement; e = e.getEnclosingElement()) {
+			if(!e.getModifiers().contains(Modifier.PUBLIC)) {
+				throw new SkipException("converter not public " + converter);
+			}
+		}
+		return converter.getQualifiedName().toString();
+	}
+
+	private Map<CallbackEnum, String> callbacks(TypeElement type) throws SkipException {
+		Map<CallbackEnum, String> map = new EnumMap<>(CallbackEnum.class);
+		for(ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+			addCallback(map, CallbackEnum.POST_LOAD, method, method.getAnnotation(PostLoad.class) != null);
+			addCallback(map, CallbackEnum.POST_PERSIST, method, method.getAnnotation(PostPersist.class) != null);
+			addCallback(map, CallbackEnum.PRE_PERSIST, method, method.getAnnotation(PrePersist.class) != null);
+		}
+		return map;
+	}
+
+	private static void addCallback(Map<CallbackEnum, String> map, CallbackEnum callback, ExecutableElement method, boolean present) throws SkipException {
+		if(!present) return;
+		Set<Modifier> modifiers = method.getModifiers();
+		if(modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC) || !method.getParameters().isEmpty()) {
+			throw new SkipException("life cycle method not accessible " + method);
+		}
+		if(map.put(callback, method.getSimpleName().toString()) != null) {
+			throw new SkipException("multiple " + callback + " methods");
+		}
+	}
+
+	private static String literal(String s) {
+		StringBuilder sb = new StringBuilder("\"");
+		for(int i = 0 ; i < s.length() ; ++i) {
+			char c = s.charAt(i);
+			switch(c) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				if(c < 0x20 || c > 0x7e) {
+					sb.append(String.format("\\u%04x", (int) c));
+				} else {
+					sb.append(c);
+				}
+			}
+		}
+		return sb.append('"').toString();
+	}
+}
@@ -1,14 +1,39 @@
 package io.github.ritonglue.gocsv.convert;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
 
 /**
  * <p>
  * {@link Converter} implementation for <code>java.math.BigDecimal</code> values.
+ * The plain values of up to 18 digits are built from their unscaled <code>long</code> value.
+ * An output scale writes the values with this number of decimals, rounded if needed.
  * </p>
  */
 
-public class BigDecimalConverter implements Converter<BigDecimal> {
+public class BigDecimalConverter implements CharSequenceConverter<BigDecimal> {
+	private static final int MAX_DIGITS = 18;
+	private final int scale;
+	private final RoundingMode roundingMode;
+
+	public BigDecimalConverter() {
+		this.scale = -1;
+		this.roundingMode = null;
+	}
+
+	/**
+	 * @param scale the number of decimals written
+	 * @param roundingMode the rounding of the values with more decimals
+	 */
+	public BigDecimalConverter(int scale, RoundingMode roundingMode) {
+		if(scale < 0) {
+			throw new IllegalArgumentException("scale: " + scale);
+		}
+		this.scale = scale;
+		this.roundingMode = Objects.requireNonNull(roundingMode, "roundingMode null");
+	}
+
 	/**
 	 * @throws ConverterException {@inheritDoc}
 	 * @throws NullPointerException {@inheritDoc}
@@ -23,14 +48,68 @@ public class BigDecimalConverter implements Converter<BigDecimal> {
 			return null;
 		}
 
+		return parse(value, 0, value.length());
+	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 */
+	@Override
+	public BigDecimal getAsObject(CharSequence value, int start, int end) {
+		int s = CharSequences.stripStart(value, start, end);
+		int e = CharSequences.stripEnd(value, s, end);
+		if (s == e) {
+			return null;
+		}
+		return parse(value, s, e);
+	}
+
+	private static BigDecimal parse(CharSequence value, int start, int end) {
+		BigDecimal fast = parsePlain(value, start, end);
+		if(fast != null) {
+			return fast;
+		}
+		String text = CharSequences.toString(value, start, end);
 		try {
-			return new BigDecimal(value);
+			return new BigDecimal(text);
 		} catch (NumberFormatException nfe) {
-			throw new ConverterException(value, nfe);
+			throw new ConverterException(text, nfe);
 		} catch (Exception e) {
 			throw new ConverterException(e);
 		}
+	}
 
+	/**
+	 * [+-]digits[.digits] of up to 18 significant digits
+	 * @return the value, null for the BigDecimal parser
+	 */
+	private static BigDecimal parsePlain(CharSequence value, int start, int end) {
+		int i = start;
+		char c = value.charAt(i);
+		boolean negative = c == '-';
+		if(negative || c == '+') ++i;
+		long unscaled = 0;
+		int significant = 0;
+		int digits = 0;
+		int scale = 0;
+		boolean dot = false;
+		for(; i < end ; ++i) {
+			c = value.charAt(i);
+			if(c >= '0' && c <= '9') {
+				if(unscaled != 0 || c != '0') {
+					if(++significant > MAX_DIGITS) return null;
+					unscaled = unscaled * 10 + (c - '0');
+				}
+				++digits;
+				if(dot) ++scale;
+			} else if(c == '.' && !dot) {
+				dot = true;
+			} else {
+				return null;
+			}
+		}
+		if(digits == 0) return null;
+		return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
 	}
 
 	/**
@@ -46,9 +125,32 @@ public class BigDecimalConverter implements Converter<BigDecimal> {
 		}
 
 		try {
-			return value.toString();
+			if(scale < 0) {
+				return value.toString();
+			}
+			if(value.scale() > scale) {
+				return value.setScale(scale, roundingMode).toPlainString();
+			}
+			//padded with zeros instead of a rescaled copy
+			String plain = value.toPlainString();
+			int zeros = scale - Math.max(value.scale(), 0);
+			if(zeros == 0) {
+				return plain;
+			}
+			StringBuilder sb = new StringBuilder(plain.length() + zeros + 1).append(plain);
+			if(value.scale() <= 0) sb.append('.');
+			for(int i = 0 ; i < zeros ; ++i) sb.append('0');
+			return sb.toString();
 		} catch (Exception e) {
 			throw new ConverterException(e);
 		}
 	}
+
+	public int getScale() {
+		return scale;
+	}
+
+	public RoundingMode getRoundingMode() {
+		return roundingMode;
+	}
 }
@@ -6,7 +6,7 @@ package io.github.ritonglue.gocsv.convert;
  * </p>
  */
 
-public class BooleanConverter implements Converter<Boolean> {
+public class BooleanConverter implements BooleanValueConverter {
 
 	/**
 	 * @throws ConverterException {@inheritDoc}
@@ -45,4 +45,24 @@ public class BooleanConverter implements Converter<Boolean> {
 			throw new ConverterException(e);
 		}
 	}
+
+	/**
+	 * @throws NullPointerException if the value is null
+	 */
+	@Override
+	public boolean parseBoolean(String value) {
+		return Boolean.parseBoolean(value.strip());
+	}
+
+	@Override
+	public String formatBoolean(boolean value) {
+		return Boolean.toString(value);
+	}
+
+	@Override
+	public boolean parseBoolean(CharSequence value, int start, int end) {
+		int s = CharSequences.stripStart(value, start, end);
+		int e = CharSequences.stripEnd(value, s, end);
+		return CharSequences.regionEqualsIgnoreCase(value, s, e, "true");
+	}
 }
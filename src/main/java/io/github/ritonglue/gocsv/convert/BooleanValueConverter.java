@@ -0,0 +1,43 @@
+package io.github.ritonglue.gocsv.convert;
+
+/**
+ * <p>
+ * {@link Converter} of <code>boolean</code> values without boxing.
+ * The engine uses it for the <code>boolean</code> fields and properties : an empty value leaves the default value.
+ * </p>
+ */
+
+public interface BooleanValueConverter extends CharSequenceConverter<Boolean> {
+
+    /**
+     * Convert the specified string value.
+     * @param value String value to be converted, not empty
+     * @return the result of the conversion
+     * @throws ConverterException if the value can't be converted
+     */
+    boolean parseBoolean(String value);
+
+    /**
+     * Convert the specified primitive value.
+     * @param value primitive value to be converted
+     * @return the result of the conversion
+     */
+    String formatBoolean(boolean value);
+
+    /**
+     * Convert the specified range of characters.
+     * @param value the characters
+     * @param start the start index, inclusive
+     * @param end the end index, exclusive, the range is not blank
+     * @return the result of the conversion
+     * @throws ConverterException if the value can't be converted
+     */
+    default boolean parseBoolean(CharSequence value, int start, int end) {
+        return parseBoolean(CharSequences.toString(value, start, end));
+    }
+
+    @Override
+    default Boolean getAsObject(CharSequence value, int start, int end) {
+        return CharSequences.isBlank(value, start, end) ? null : parseBoolean(value, start, end);
+    }
+}
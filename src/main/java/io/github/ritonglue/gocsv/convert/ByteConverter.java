@@ -6,7 +6,7 @@ package io.github.ritonglue.gocsv.convert;
  * </p>
  */
 
-public class ByteConverter implements Converter<Byte> {
+public class ByteConverter implements CharSequenceConverter<Byte> {
 
 	/**
 	 * @throws ConverterException {@inheritDoc}
@@ -47,4 +47,26 @@ public class ByteConverter implements Converter<Byte> {
 			throw new ConverterException(e);
 		}
 	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 */
+	@Override
+	public Byte getAsObject(CharSequence value, int start, int end) {
+		int s = CharSequences.stripStart(value, start, end);
+		int e = CharSequences.stripEnd(value, s, end);
+		if (s == e) {
+			return null;
+		}
+
+		try {
+			int i = Integer.parseInt(value, s, e, 10);
+			if (i < Byte.MIN_VALUE || i > Byte.MAX_VALUE) {
+				throw new NumberFormatException("Value out of range. Value:\"" + i + "\" Radix:10");
+			}
+			return Byte.valueOf((byte) i);
+		} catch (NumberFormatException nfe) {
+			throw new ConverterException(CharSequences.toString(value, s, e), nfe);
+		}
+	}
 }
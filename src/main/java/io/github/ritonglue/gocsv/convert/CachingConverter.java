@@ -0,0 +1,148 @@
+package io.github.ritonglue.gocsv.convert;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * {@link Converter} keeping the last converted values of another converter, for the columns whose values repeat
+ * like dates or amounts. The cache is a least recently used map per stripe, a stripe being chosen by the hash
+ * of the text : the threads only contend on the same stripe. The conversion errors are not kept.
+ * </p>
+ * <p>
+ * A cached value is returned for every row with the same text : the wrapped converter must return immutable
+ * values (String, numbers, java.time types...), a mutable one would be shared by these rows.
+ * </p>
+ */
+
+public class CachingConverter<T> implements CharSequenceConverter<T> {
+	private static final int STRIPES = 16;
+	private static final Object NULL = new Object();
+
+	private final Converter<T> converter;
+	private final Stripe[] stripes;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Least recently used values of a stripe
+	 */
+	private static final class Stripe extends LinkedHashMap<String, Object> {
+		private static final long serialVersionUID = 1L;
+		private final int capacity;
+		private final transient LongAdder evictions;
+
+		private Stripe(int capacity, LongAdder evictions) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+			this.evictions = evictions;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+			if(size() > capacity) {
+				evictions.increment();
+				return true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * @param converter the converter
+	 * @param capacity the maximum number of values kept
+	 */
+	public CachingConverter(Converter<T> converter, int capacity) {
+		this.converter = Objects.requireNonNull(converter, "converter null");
+		if(capacity < 1) {
+			throw new IllegalArgumentException("capacity: " + capacity);
+		}
+		int n = Math.min(STRIPES, capacity);
+		this.stripes = new Stripe[n];
+		for(int i = 0 ; i < n ; ++i) {
+			stripes[i] = new Stripe((capacity + n - 1) / n, evictions);
+		}
+	}
+
+	@Override
+	public T getAsObject(String value) {
+		if(value == null) {
+			return converter.getAsObject(null);
+		}
+		int hash = value.hashCode();
+		Stripe stripe = stripes[((hash ^ (hash >>> 16)) & 0x7fffffff) % stripes.length];
+		Object cached;
+		synchronized(stripe) {
+			cached = stripe.get(value);
+		}
+		if(cached != null) {
+			hits.increment();
+			return unmask(cached);
+		}
+		misses.increment();
+		T object = converter.getAsObject(value);
+		synchronized(stripe) {
+			stripe.put(value, object == null ? NULL : object);
+		}
+		return object;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T unmask(Object cached) {
+		return cached == NULL ? null : (T) cached;
+	}
+
+	@Override
+	public T getAsObject(CharSequence value, int start, int end) {
+		return getAsObject(CharSequences.toString(value, start, end));
+	}
+
+	@Override
+	public String getAsString(T value) {
+		return converter.getAsString(value);
+	}
+
+	/**
+	 * @return the cached converter
+	 */
+	public Converter<T> getConverter() {
+		return converter;
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * @return the hits over the lookups, 0 if none
+	 */
+	public double getHitRatio() {
+		long hit = hits.sum();
+		long total = hit + misses.sum();
+		return total == 0 ? 0 : (double) hit / total;
+	}
+
+	/**
+	 * @return the number of values kept
+	 */
+	public int size() {
+		int size = 0;
+		for(Stripe stripe : stripes) {
+			synchronized(stripe) {
+				size += stripe.size();
+			}
+		}
+		return size;
+	}
+}
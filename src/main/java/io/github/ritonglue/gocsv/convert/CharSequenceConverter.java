@@ -0,0 +1,22 @@
+package io.github.ritonglue.gocsv.convert;
+
+/**
+ * <p>
+ * {@link Converter} reading a range of a character sequence : the value is converted
+ * without being copied into a String.
+ * </p>
+ *
+ * @param <T> The generic type of object value to convert.
+ */
+
+public interface CharSequenceConverter<T> extends Converter<T> {
+
+    /**
+     * Convert the specified range of characters.
+     * @param value the characters (not <code>null</code>)
+     * @param start the start index, inclusive
+     * @param end the end index, exclusive
+     * @return <code>null</code> if the range is blank, otherwise the result of the conversion
+     */
+    T getAsObject(CharSequence value, int start, int end);
+}
@@ -0,0 +1,73 @@
+package io.github.ritonglue.gocsv.convert;
+
+/**
+ * <p>
+ * Helpers for the {@link CharSequenceConverter} ranges. The whitespaces are the ones of {@link String#strip()}.
+ * </p>
+ */
+
+public final class CharSequences {
+
+	private CharSequences() {
+	}
+
+	/**
+	 * @return the index of the first non whitespace character, end if none
+	 */
+	public static int stripStart(CharSequence value, int start, int end) {
+		while(start < end && Character.isWhitespace(value.charAt(start))) ++start;
+		return start;
+	}
+
+	/**
+	 * @return the index following the last non whitespace character, start if none
+	 */
+	public static int stripEnd(CharSequence value, int start, int end) {
+		while(end > start && Character.isWhitespace(value.charAt(end - 1))) --end;
+		return end;
+	}
+
+	/**
+	 * @return true if the range is empty or contains only whitespaces
+	 */
+	public static boolean isBlank(CharSequence value, int start, int end) {
+		return stripStart(value, start, end) == end;
+	}
+
+	/**
+	 * @return true if the range has the characters of the text
+	 */
+	public static boolean regionEquals(CharSequence value, int start, int end, String text) {
+		int length = end - start;
+		if(length != text.length()) return false;
+		for(int i = 0 ; i < length ; ++i) {
+			if(value.charAt(start + i) != text.charAt(i)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return true if the range has the characters of the text, ignoring case
+	 */
+	public static boolean regionEqualsIgnoreCase(CharSequence value, int start, int end, String text) {
+		int length = end - start;
+		if(length != text.length()) return false;
+		for(int i = 0 ; i < length ; ++i) {
+			char c1 = value.charAt(start + i);
+			char c2 = text.charAt(i);
+			if(c1 != c2 && Character.toUpperCase(c1) != Character.toUpperCase(c2)
+					&& Character.toLowerCase(c1) != Character.toLowerCase(c2)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Copies the range, for the conversions that need a String
+	 */
+	public static String toString(CharSequence value, int start, int end) {
+		if(start == 0 && end == value.length() && value instanceof String) return (String) value;
+		return value.subSequence(start, end).toString();
+	}
+}
@@ -8,7 +8,10 @@ import java.util.Currency;
  * </p>
  */
 
-public class CurrencyConverter implements Converter<Currency> {
+public class CurrencyConverter implements CharSequenceConverter<Currency> {
+	/** currencies by ISO 4217 code, 'AAA' to 'ZZZ', filled on first use */
+	private static final Currency[] CODES = new Currency[26 * 26 * 26];
+
 	/**
 	 * @throws ConverterException {@inheritDoc}
 	 * @throws NullPointerException {@inheritDoc}
@@ -41,4 +44,45 @@ public class CurrencyConverter implements Converter<Currency> {
 		// If the specified value is null, return a zero-length String
 		return value == null ? "" : value.getCurrencyCode();
 	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 */
+	@Override
+	public Currency getAsObject(CharSequence value, int start, int end) {
+		int s = CharSequences.stripStart(value, start, end);
+		int e = CharSequences.stripEnd(value, s, end);
+		if (s == e) {
+			return null;
+		}
+		int index = index(value, s, e);
+		if (index < 0) {
+			return getAsObject(CharSequences.toString(value, s, e));
+		}
+		Currency currency = CODES[index];
+		if (currency == null) {
+			//Currency is immutable : a racy fill is harmless
+			currency = getAsObject(CharSequences.toString(value, s, e));
+			CODES[index] = currency;
+		}
+		return currency;
+	}
+
+	/**
+	 * @return the index of the three upper case letters code, -1 otherwise
+	 */
+	private static int index(CharSequence value, int start, int end) {
+		if (end - start != 3) {
+			return -1;
+		}
+		int index = 0;
+		for (int i = start ; i < end ; ++i) {
+			char c = value.charAt(i);
+			if (c < 'A' || c > 'Z') {
+				return -1;
+			}
+			index = index * 26 + (c - 'A');
+		}
+		return index;
+	}
 }
@@ -1,5 +1,6 @@
 package io.github.ritonglue.gocsv.convert;
 
+import java.nio.CharBuffer;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -17,7 +18,7 @@ import java.util.TimeZone;
  * </p>
  */
 
-public class DateTimeConverter implements Converter<TemporalAccessor> {
+public class DateTimeConverter implements CharSequenceConverter<TemporalAccessor> {
 	private static final TimeZone DEFAULT_TIME_ZONE = TimeZone.getTimeZone("GMT");
 	private String pattern;
 	private Locale locale;
@@ -53,6 +54,21 @@ public class DateTimeConverter implements Converter<TemporalAccessor> {
 			return null;
 		}
 
+		return parse(value);
+	}
+
+	@Override
+	public TemporalAccessor getAsObject(CharSequence value, int start, int end) {
+		int s = CharSequences.stripStart(value, start, end);
+		int e = CharSequences.stripEnd(value, s, end);
+		if (s == e) {
+			return null;
+		}
+		//view of the range, not a copy
+		return parse(CharBuffer.wrap(value, s, e));
+	}
+
+	private TemporalAccessor parse(CharSequence value) {
 		try {
 			if(clazz == LocalDate.class) {
 				return LocalDate.parse(value, formatter);
@@ -1,27 +1,40 @@
 package io.github.ritonglue.gocsv.convert;
 
+import java.nio.CharBuffer;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalQuery;
 
 /**
  * <p>
- * {@link Converter} implementation for date, time with DateTimeFormatter
+ * {@link Converter} implementation for date, time with DateTimeFormatter.
+ * The default ISO date and date time converters parse and format the usual shapes with the digits,
+ * without the formatter.
  * </p>
  */
 
-public class DateTimeFormatConverter<T extends TemporalAccessor> implements Converter<TemporalAccessor> {
+public class DateTimeFormatConverter<T extends TemporalAccessor> implements CharSequenceConverter<TemporalAccessor> {
 
 	private final DateTimeFormatter formatter;
 	private final TemporalQuery<T> query;
+	/** fast path of the ISO formatter, null if none */
+	private final IsoFormat iso;
 
 	public static <T extends TemporalAccessor> DateTimeFormatConverter<T> of(DateTimeFormatter formatter, TemporalQuery<T> query) {
-		return new DateTimeFormatConverter<T>(formatter, query);
+		return new DateTimeFormatConverter<T>(formatter, query, null);
 	}
 
-	private DateTimeFormatConverter(DateTimeFormatter formatter, TemporalQuery<T> query) {
+	/**
+	 * @param iso the fast path giving the same values as the formatter and the query
+	 */
+	static <T extends TemporalAccessor> DateTimeFormatConverter<T> of(DateTimeFormatter formatter, TemporalQuery<T> query, IsoFormat iso) {
+		return new DateTimeFormatConverter<T>(formatter, query, iso);
+	}
+
+	private DateTimeFormatConverter(DateTimeFormatter formatter, TemporalQuery<T> query, IsoFormat iso) {
 		this.formatter = formatter;
 		this.query = query;
+		this.iso = iso;
 	}
 
 	@Override
@@ -36,8 +49,28 @@ public class DateTimeFormatConverter<T extends TemporalAccessor> implements Conv
 			return null;
 		}
 
+		return parse(value, 0, value.length());
+	}
+
+	@Override
+	public TemporalAccessor getAsObject(CharSequence value, int start, int end) {
+		int s = CharSequences.stripStart(value, start, end);
+		int e = CharSequences.stripEnd(value, s, end);
+		if (s == e) {
+			return null;
+		}
+
+		return parse(value, s, e);
+	}
+
+	private TemporalAccessor parse(CharSequence value, int start, int end) {
+		if(iso != null) {
+			TemporalAccessor parsed = iso.parse(value, start, end);
+			if(parsed != null) return parsed;
+		}
 		try {
-			return formatter.parse(value, query);
+			//view of the range, not a copy
+			return formatter.parse(CharBuffer.wrap(value, start, end), query);
 		} catch (Exception e) {
 			throw new ConverterException(e);
 		}
@@ -49,6 +82,10 @@ public class DateTimeFormatConverter<T extends TemporalAccessor> implements Conv
 		if (value == null) {
 			return "";
 		}
+		if(iso != null) {
+			String text = iso.format(value);
+			if(text != null) return text;
+		}
 		try {
 			return formatter.format(value);
 		} catch (Exception e) {
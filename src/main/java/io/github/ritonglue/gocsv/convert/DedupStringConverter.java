@@ -0,0 +1,39 @@
+package io.github.ritonglue.gocsv.convert;
+
+import java.util.Objects;
+
+/**
+ * <p>
+ * {@link StringConverter} returning the same instance for equal values, through a {@link StringDictionary}.
+ * The range of characters is looked up without creating a String.
+ * </p>
+ */
+
+public class DedupStringConverter extends StringConverter implements CharSequenceConverter<String> {
+	private final StringDictionary dictionary;
+
+	public DedupStringConverter() {
+		this(new StringDictionary());
+	}
+
+	public DedupStringConverter(StringDictionary dictionary) {
+		this.dictionary = Objects.requireNonNull(dictionary, "dictionary null");
+	}
+
+	@Override
+	public String getAsObject(String value) {
+		return dictionary.get(value);
+	}
+
+	@Override
+	public String getAsObject(CharSequence value, int start, int end) {
+		return dictionary.get(value, start, end);
+	}
+
+	/**
+	 * @return the dictionary and its statistics
+	 */
+	public StringDictionary getDictionary() {
+		return dictionary;
+	}
+}
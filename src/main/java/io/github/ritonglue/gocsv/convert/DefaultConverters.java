@@ -42,11 +42,11 @@ public class DefaultConverters {
 		map.put(String.class, new StringConverter());
 		map.put(Currency.class, new CurrencyConverter());
 
-		map.put(LocalDate.class, DateTimeFormatConverter.of(DateTimeFormatter.ISO_LOCAL_DATE, LocalDate::from));
-		map.put(LocalDateTime.class, DateTimeFormatConverter.of(DateTimeFormatter.ISO_LOCAL_DATE_TIME, LocalDateTime::from));
-		map.put(OffsetDateTime.class, DateTimeFormatConverter.of(DateTimeFormatter.ISO_OFFSET_DATE_TIME, OffsetDateTime::from));
+		map.put(LocalDate.class, DateTimeFormatConverter.of(DateTimeFormatter.ISO_LOCAL_DATE, LocalDate::from, IsoFormat.LOCAL_DATE));
+		map.put(LocalDateTime.class, DateTimeFormatConverter.of(DateTimeFormatter.ISO_LOCAL_DATE_TIME, LocalDateTime::from, IsoFormat.LOCAL_DATE_TIME));
+		map.put(OffsetDateTime.class, DateTimeFormatConverter.of(DateTimeFormatter.ISO_OFFSET_DATE_TIME, OffsetDateTime::from, IsoFormat.OFFSET_DATE_TIME));
 		map.put(ZonedDateTime.class, DateTimeFormatConverter.of(DateTimeFormatter.ISO_ZONED_DATE_TIME, ZonedDateTime::from));
-		map.put(Instant.class, DateTimeFormatConverter.of(DateTimeFormatter.ISO_INSTANT, Instant::from));
+		map.put(Instant.class, DateTimeFormatConverter.of(DateTimeFormatter.ISO_INSTANT, Instant::from, IsoFormat.INSTANT));
 		map.put(LocalTime.class, DateTimeFormatConverter.of(DateTimeFormatter.ISO_LOCAL_TIME, LocalTime::from));
 		map.put(OffsetTime.class, DateTimeFormatConverter.of(DateTimeFormatter.ISO_OFFSET_TIME, OffsetTime::from));
 
@@ -6,7 +6,7 @@ package io.github.ritonglue.gocsv.convert;
  * </p>
  */
 
-public class DoubleConverter implements Converter<Double> {
+public class DoubleConverter implements DoubleValueConverter {
 
 	/**
 	 * @throws ConverterException {@inheritDoc}
@@ -25,7 +25,7 @@ public class DoubleConverter implements Converter<Double> {
 		}
 
 		try {
-			return Double.valueOf(value);
+			return DoubleParser.parseDouble(value, 0, value.length());
 		} catch (NumberFormatException nfe) {
 			throw new ConverterException(value, nfe);
 		} catch (Exception e) {
@@ -50,4 +50,37 @@ public class DoubleConverter implements Converter<Double> {
 			throw new ConverterException(e);
 		}
 	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 * @throws NullPointerException if the value is null
+	 */
+	@Override
+	public double parseDouble(String value) {
+		value = value.strip();
+		try {
+			return DoubleParser.parseDouble(value, 0, value.length());
+		} catch (NumberFormatException nfe) {
+			throw new ConverterException(value, nfe);
+		}
+	}
+
+	@Override
+	public String formatDouble(double value) {
+		return Double.toString(value);
+	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 */
+	@Override
+	public double parseDouble(CharSequence value, int start, int end) {
+		int s = CharSequences.stripStart(value, start, end);
+		int e = CharSequences.stripEnd(value, s, end);
+		try {
+			return DoubleParser.parseDouble(value, s, e);
+		} catch (NumberFormatException nfe) {
+			throw new ConverterException(CharSequences.toString(value, s, e), nfe);
+		}
+	}
 }
@@ -0,0 +1,184 @@
+package io.github.ritonglue.gocsv.convert;
+
+import java.math.BigInteger;
+
+/**
+ * <p>
+ * Parses the decimal <code>double</code> and <code>float</code> values of a range of characters,
+ * with the same result as {@link Double#parseDouble(String)} and {@link Float#parseFloat(String)}.
+ * Up to 19 significant digits, the value is computed exactly by a floating point operation (Clinger)
+ * or from a 128 bits power of ten (Eisel-Lemire). The other texts (more digits, hexadecimal, NaN, Infinity,
+ * suffixes, subnormal or ambiguous values) are parsed by the JDK.
+ * </p>
+ */
+
+final class DoubleParser {
+	/** not a result of the fast path : a NaN */
+	private static final long FAIL = -1L;
+	private static final int MAX_DIGITS = 19;
+	private static final int MIN_EXPONENT = -342;
+	private static final int MAX_EXPONENT = 308;
+	private static final double[] DOUBLE_POW10 = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+	private static final float[] FLOAT_POW10 = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+	/** 128 high bits of the powers of ten, rounded down */
+	private static final long[] POW10_HI = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+	private static final long[] POW10_LO = new long[POW10_HI.length];
+
+	static {
+		for(int q = MIN_EXPONENT ; q <= MAX_EXPONENT ; ++q) {
+			BigInteger p;
+			if(q >= 0) {
+				p = BigInteger.TEN.pow(q);
+				int shift = p.bitLength() - 128;
+				p = shift > 0 ? p.shiftRight(shift) : p.shiftLeft(-shift);
+			} else {
+				BigInteger d = BigInteger.TEN.pow(-q);
+				p = BigInteger.ONE.shiftLeft(d.bitLength() + 127).divide(d);
+			}
+			POW10_HI[q - MIN_EXPONENT] = p.shiftRight(64).longValue();
+			POW10_LO[q - MIN_EXPONENT] = p.longValue();
+		}
+	}
+
+	private DoubleParser() {
+	}
+
+	/**
+	 * @param value the characters, the range is stripped
+	 * @throws NumberFormatException if the range is not a number
+	 */
+	static double parseDouble(CharSequence value, int start, int end) {
+		long bits = parse(value, start, end, false);
+		return bits == FAIL ? Double.parseDouble(CharSequences.toString(value, start, end)) : Double.longBitsToDouble(bits);
+	}
+
+	/**
+	 * @param value the characters, the range is stripped
+	 * @throws NumberFormatException if the range is not a number
+	 */
+	static float parseFloat(CharSequence value, int start, int end) {
+		long bits = parse(value, start, end, true);
+		return bits == FAIL ? Float.parseFloat(CharSequences.toString(value, start, end)) : Float.intBitsToFloat((int) bits);
+	}
+
+	/**
+	 * [+-]digits[.digits][(e|E)[+-]digits]
+	 * @return the bits of the value, FAIL to use the JDK
+	 */
+	private static long parse(CharSequence value, int start, int end, boolean isFloat) {
+		int i = start;
+		if(i == end) return FAIL;
+		char c = value.charAt(i);
+		boolean negative = c == '-';
+		if(negative || c == '+') ++i;
+		//unsigned, up to 19 digits
+		long mantissa = 0;
+		int significant = 0;
+		int exponent = 0;
+		int digits = 0;
+		for(; i < end && (c = value.charAt(i)) >= '0' && c <= '9' ; ++i, ++digits) {
+			if(mantissa != 0 || c != '0') {
+				if(++significant > MAX_DIGITS) return FAIL;
+				mantissa = mantissa * 10 + (c - '0');
+			}
+		}
+		if(i < end && value.charAt(i) == '.') {
+			for(++i ; i < end && (c = value.charAt(i)) >= '0' && c <= '9' ; ++i, ++digits) {
+				if(mantissa != 0 || c != '0') {
+					if(++significant > MAX_DIGITS) return FAIL;
+					mantissa = mantissa * 10 + (c - '0');
+				}
+				--exponent;
+			}
+		}
+		if(digits == 0) return FAIL;
+		if(i < end && ((c = value.charAt(i)) == 'e' || c == 'E')) {
+			if(++i == end) return FAIL;
+			c = value.charAt(i);
+			boolean negativeExponent = c == '-';
+			if(negativeExponent || c == '+') ++i;
+			int e = 0;
+			int exponentDigits = 0;
+			for(; i < end && (c = value.charAt(i)) >= '0' && c <= '9' ; ++i, ++exponentDigits) {
+				if(e < 100_000) e = e * 10 + (c - '0');
+			}
+			if(exponentDigits == 0) return FAIL;
+			exponent += negativeExponent ? -e : e;
+		}
+		if(i != end) return FAIL;
+		long sign = negative ? 1L << (isFloat ? 31 : 63) : 0;
+		if(mantissa == 0) {
+			return sign;
+		}
+		long bits;
+		if(isFloat) {
+			if(mantissa >= 0 && mantissa <= 1 << 24 && exponent >= -10 && exponent <= 10) {
+				//exact operands, one rounding
+				float f = mantissa;
+				f = exponent >= 0 ? f * FLOAT_POW10[exponent] : f / FLOAT_POW10[-exponent];
+				return Float.floatToRawIntBits(f) | sign;
+			}
+			bits = eiselLemire(mantissa, exponent, 23, 127, 0xFF);
+		} else {
+			if(mantissa >= 0 && mantissa <= 1L << 53 && exponent >= -22 && exponent <= 22) {
+				double d = mantissa;
+				d = exponent >= 0 ? d * DOUBLE_POW10[exponent] : d / DOUBLE_POW10[-exponent];
+				return Double.doubleToRawLongBits(d) | sign;
+			}
+			bits = eiselLemire(mantissa, exponent, 52, 1023, 0x7FF);
+		}
+		return bits == FAIL ? FAIL : bits | sign;
+	}
+
+	/**
+	 * Eisel-Lemire : the rounded mantissa of the 128 bits product, unless it is too close to an halfway value.
+	 * @param mantissa the unsigned decimal mantissa, not zero
+	 * @param exponent the decimal exponent
+	 * @param mantissaBits the explicit mantissa bits, 52 or 23
+	 * @param bias the exponent bias
+	 * @param maxExponent the biased exponent of the infinity
+	 * @return the positive bits, FAIL if ambiguous, infinite or subnormal
+	 */
+	private static long eiselLemire(long mantissa, int exponent, int mantissaBits, int bias, int maxExponent) {
+		if(exponent < MIN_EXPONENT || exponent > MAX_EXPONENT) return FAIL;
+		int lz = Long.numberOfLeadingZeros(mantissa);
+		long w = mantissa << lz;
+		//floor(log2(10) * exponent)
+		long exponent2 = ((217706L * exponent) >> 16) + 64 + bias - lz;
+		long hi = POW10_HI[exponent - MIN_EXPONENT];
+		long lo = POW10_LO[exponent - MIN_EXPONENT];
+		long xHi = unsignedMultiplyHigh(w, hi);
+		long xLo = w * hi;
+		int shift = 64 - mantissaBits - 3;
+		long mask = (1L << shift) - 1;
+		if((xHi & mask) == mask && Long.compareUnsigned(xLo + w, w) < 0) {
+			//the truncated bits may carry : product with the low bits
+			long yHi = unsignedMultiplyHigh(w, lo);
+			long yLo = w * lo;
+			long mergedHi = xHi;
+			long mergedLo = xLo + yHi;
+			if(Long.compareUnsigned(mergedLo, xLo) < 0) ++mergedHi;
+			if((mergedHi & mask) == mask && mergedLo + 1 == 0 && Long.compareUnsigned(yLo + w, w) < 0) return FAIL;
+			xHi = mergedHi;
+			xLo = mergedLo;
+		}
+		long msb = xHi >>> 63;
+		long m = xHi >>> (msb + shift);
+		exponent2 -= 1 ^ msb;
+		if(xLo == 0 && (xHi & mask) == 0 && (m & 3) == 1) return FAIL;
+		m += m & 1;
+		m >>>= 1;
+		if(m >>> (mantissaBits + 1) != 0) {
+			m >>>= 1;
+			++exponent2;
+		}
+		if(exponent2 <= 0 || exponent2 >= maxExponent) return FAIL;
+		return exponent2 << mantissaBits | (m & ((1L << mantissaBits) - 1));
+	}
+
+	private static long unsignedMultiplyHigh(long x, long y) {
+		return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+	}
+}
@@ -7,10 +7,11 @@ import java.util.Objects;
  * {@link Converter} implementation for <code>java.lang.Enum</code> (and enum primitive) values.
  * </p>
  */
-public class EnumConverter<T extends Enum<T>> implements Converter<T> {
+public class EnumConverter<T extends Enum<T>> implements CharSequenceConverter<T> {
 
 
 	private Class<T> targetClass;
+	private final T[] constants;
 
 	/**
 	 * Instantiates an enum converter with a class where enum constants are taken from.
@@ -19,6 +20,7 @@ public class EnumConverter<T extends Enum<T>> implements Converter<T> {
 	 */
 	public EnumConverter(Class<T> targetClass) {
 		this.targetClass = Objects.requireNonNull(targetClass, "targetClass null");
+		this.constants = targetClass.getEnumConstants();
 	}
 
 	/**
@@ -62,4 +64,27 @@ public class EnumConverter<T extends Enum<T>> implements Converter<T> {
 		
 		return value.name();
 	}
+
+	/**
+	 * <p>
+	 * Convert the range to one of the enum constants without copying it.
+	 * </p>
+	 *
+	 * @throws ConverterException {@inheritDoc}
+	 */
+	@Override
+	public T getAsObject(CharSequence value, int start, int end) {
+		int s = CharSequences.stripStart(value, start, end);
+		int e = CharSequences.stripEnd(value, s, end);
+		if (s == e) {
+			return null;
+		}
+		for (T constant : constants) {
+			if (CharSequences.regionEquals(value, s, e, constant.name())) {
+				return constant;
+			}
+		}
+		//unknown constant : same error as the String conversion
+		return getAsObject(CharSequences.toString(value, s, e));
+	}
 }
@@ -0,0 +1,113 @@
+package io.github.ritonglue.gocsv.convert;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * <p>
+ * {@link Converter} of timestamps as <code>long</code> values since the epoch, without Instant.
+ * A value is read from its number or from its ISO instant text, such as 2024-01-02T10:15:30.123Z,
+ * and written as a number or as an ISO instant.
+ * </p>
+ */
+
+public abstract class EpochConverter implements LongValueConverter {
+	private final long unitMillis;
+	private final boolean iso;
+
+	/**
+	 * @param unitMillis the milliseconds of the unit, 1 or 1000
+	 * @param iso true to write the ISO instant, false for the number
+	 */
+	protected EpochConverter(long unitMillis, boolean iso) {
+		this.unitMillis = unitMillis;
+		this.iso = iso;
+	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 * @throws NullPointerException {@inheritDoc}
+	 */
+	@Override
+	public Long getAsObject(String value) {
+		if (value == null) {
+			return null;
+		}
+		value = value.strip();
+		if (value.isEmpty()) {
+			return null;
+		}
+		return parseLong(value, 0, value.length());
+	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 * @throws NullPointerException {@inheritDoc}
+	 */
+	@Override
+	public String getAsString(Long value) {
+		return value == null ? "" : formatLong(value);
+	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 * @throws NullPointerException if the value is null
+	 */
+	@Override
+	public long parseLong(String value) {
+		return parseLong(value, 0, value.length());
+	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 */
+	@Override
+	public long parseLong(CharSequence value, int start, int end) {
+		int s = CharSequences.stripStart(value, start, end);
+		int e = CharSequences.stripEnd(value, s, end);
+		if(isNumber(value, s, e)) {
+			try {
+				return Long.parseLong(value, s, e, 10);
+			} catch (NumberFormatException nfe) {
+				throw new ConverterException(CharSequences.toString(value, s, e), nfe);
+			}
+		}
+		long epochMilli = IsoFormat.parseEpochMilli(value, s, e);
+		if(epochMilli == Long.MIN_VALUE) {
+			String text = CharSequences.toString(value, s, e);
+			try {
+				epochMilli = DateTimeFormatter.ISO_INSTANT.parse(text, Instant::from).toEpochMilli();
+			} catch (Exception ex) {
+				throw new ConverterException(text, ex);
+			}
+		}
+		return Math.floorDiv(epochMilli, unitMillis);
+	}
+
+	@Override
+	public String formatLong(long value) {
+		if(!iso) {
+			return Long.toString(value);
+		}
+		try {
+			long epochMilli = Math.multiplyExact(value, unitMillis);
+			String text = IsoFormat.formatEpochMilli(epochMilli);
+			return text == null ? DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(epochMilli)) : text;
+		} catch (Exception e) {
+			throw new ConverterException(e);
+		}
+	}
+
+	/**
+	 * @return true if the range is an optional sign followed by digits
+	 */
+	private static boolean isNumber(CharSequence value, int start, int end) {
+		if(start < end && (value.charAt(start) == '-' || value.charAt(start) == '+')) ++start;
+		if(start == end) return false;
+		for(int i = start ; i < end ; ++i) {
+			char c = value.charAt(i);
+			if(c < '0' || c > '9') return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,14 @@
+package io.github.ritonglue.gocsv.convert;
+
+/**
+ * <p>
+ * {@link EpochConverter} of epoch milliseconds, read from the number or the ISO instant, written as the number.
+ * </p>
+ */
+
+public class EpochMillisConverter extends EpochConverter {
+
+	public EpochMillisConverter() {
+		super(1, false);
+	}
+}
@@ -0,0 +1,15 @@
+package io.github.ritonglue.gocsv.convert;
+
+/**
+ * <p>
+ * {@link EpochConverter} of epoch seconds, read from the number or the ISO instant, written as the number.
+ * The fraction of a second of an ISO instant is dropped, as {@link java.time.Instant#getEpochSecond()} does.
+ * </p>
+ */
+
+public class EpochSecondsConverter extends EpochConverter {
+
+	public EpochSecondsConverter() {
+		super(1000, false);
+	}
+}
@@ -6,7 +6,7 @@ package io.github.ritonglue.gocsv.convert;
  * </p>
  */
 
-public class FloatConverter implements Converter<Float> {
+public class FloatConverter implements CharSequenceConverter<Float> {
 
 	/**
 	 * @throws ConverterException {@inheritDoc}
@@ -23,7 +23,7 @@ public class FloatConverter implements Converter<Float> {
 		}
 
 		try {
-			return Float.valueOf(value);
+			return DoubleParser.parseFloat(value, 0, value.length());
 		} catch (NumberFormatException nfe) {
 			throw new ConverterException(value, nfe);
 		} catch (Exception e) {
@@ -48,4 +48,21 @@ public class FloatConverter implements Converter<Float> {
 			throw new ConverterException(e);
 		}
 	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 */
+	@Override
+	public Float getAsObject(CharSequence value, int start, int end) {
+		int s = CharSequences.stripStart(value, start, end);
+		int e = CharSequences.stripEnd(value, s, end);
+		if (s == e) {
+			return null;
+		}
+		try {
+			return DoubleParser.parseFloat(value, s, e);
+		} catch (NumberFormatException nfe) {
+			throw new ConverterException(CharSequences.toString(value, s, e), nfe);
+		}
+	}
 }
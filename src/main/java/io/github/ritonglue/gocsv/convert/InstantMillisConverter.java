@@ -0,0 +1,15 @@
+package io.github.ritonglue.gocsv.convert;
+
+/**
+ * <p>
+ * {@link EpochConverter} of epoch milliseconds, read from the ISO instant or the number, written as the ISO instant
+ * as {@link java.time.format.DateTimeFormatter#ISO_INSTANT} does.
+ * </p>
+ */
+
+public class InstantMillisConverter extends EpochConverter {
+
+	public InstantMillisConverter() {
+		super(1, true);
+	}
+}
@@ -6,7 +6,7 @@ package io.github.ritonglue.gocsv.convert;
  * </p>
  */
 
-public class IntegerConverter implements Converter<Integer> {
+public class IntegerConverter implements IntValueConverter {
 
 	/**
 	 * @throws ConverterException {@inheritDoc}
@@ -51,4 +51,37 @@ public class IntegerConverter implements Converter<Integer> {
 			throw new ConverterException(e);
 		}
 	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 * @throws NullPointerException if the value is null
+	 */
+	@Override
+	public int parseInt(String value) {
+		value = value.strip();
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException nfe) {
+			throw new ConverterException(value, nfe);
+		}
+	}
+
+	@Override
+	public String formatInt(int value) {
+		return Integer.toString(value);
+	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 */
+	@Override
+	public int parseInt(CharSequence value, int start, int end) {
+		int s = CharSequences.stripStart(value, start, end);
+		int e = CharSequences.stripEnd(value, s, end);
+		try {
+			return Integer.parseInt(value, s, e, 10);
+		} catch (NumberFormatException nfe) {
+			throw new ConverterException(CharSequences.toString(value, s, e), nfe);
+		}
+	}
 }
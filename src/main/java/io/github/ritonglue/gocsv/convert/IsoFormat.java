@@ -0,0 +1,319 @@
+package io.github.ritonglue.gocsv.convert;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * <p>
+ * Parses and formats the usual ISO shapes with the digits : yyyy-MM-dd, yyyy-MM-ddTHH:mm[:ss[.S]] then Z or +HH:MM,
+ * only Z for an instant.
+ * Any other text or value returns null and is left to the DateTimeFormatter, which gives the same result.
+ * </p>
+ */
+
+enum IsoFormat {
+	/** {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE} */
+	LOCAL_DATE {
+		@Override
+		TemporalAccessor parse(CharSequence value, int start, int end) {
+			return end - start == 10 ? date(value, start) : null;
+		}
+
+		@Override
+		String format(TemporalAccessor value) {
+			if(value.getClass() != LocalDate.class) return null;
+			LocalDate date = (LocalDate) value;
+			if(date.getYear() < 0 || date.getYear() > 9999) return null;
+			StringBuilder sb = new StringBuilder(10);
+			appendDate(sb, date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+			return sb.toString();
+		}
+	},
+	/** {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE_TIME} */
+	LOCAL_DATE_TIME {
+		@Override
+		TemporalAccessor parse(CharSequence value, int start, int end) {
+			LocalDate date = dateTime(value, start, end);
+			long nanoOfDay = date == null ? -1 : time(value, start + 11, end, false);
+			return nanoOfDay < 0 ? null : LocalDateTime.of(date, LocalTime.ofNanoOfDay(nanoOfDay));
+		}
+
+		@Override
+		String format(TemporalAccessor value) {
+			if(value.getClass() != LocalDateTime.class) return null;
+			LocalDateTime dateTime = (LocalDateTime) value;
+			if(dateTime.getYear() < 0 || dateTime.getYear() > 9999) return null;
+			StringBuilder sb = new StringBuilder(29);
+			appendDateTime(sb, dateTime, false);
+			return sb.toString();
+		}
+	},
+	/** {@link java.time.format.DateTimeFormatter#ISO_OFFSET_DATE_TIME} */
+	OFFSET_DATE_TIME {
+		@Override
+		TemporalAccessor parse(CharSequence value, int start, int end) {
+			int o = offsetStart(value, start, end);
+			LocalDate date = o < 0 ? null : dateTime(value, start, o);
+			long nanoOfDay = date == null ? -1 : time(value, start + 11, o, false);
+			int offset = nanoOfDay < 0 ? Integer.MIN_VALUE : offset(value, o, end);
+			if(offset == Integer.MIN_VALUE) return null;
+			return OffsetDateTime.of(LocalDateTime.of(date, LocalTime.ofNanoOfDay(nanoOfDay)), ZoneOffset.ofTotalSeconds(offset));
+		}
+
+		@Override
+		String format(TemporalAccessor value) {
+			if(value.getClass() != OffsetDateTime.class) return null;
+			OffsetDateTime dateTime = (OffsetDateTime) value;
+			int offset = dateTime.getOffset().getTotalSeconds();
+			if(dateTime.getYear() < 0 || dateTime.getYear() > 9999 || offset % 60 != 0) return null;
+			StringBuilder sb = new StringBuilder(35);
+			appendDateTime(sb, dateTime.toLocalDateTime(), false);
+			if(offset == 0) {
+				sb.append('Z');
+			} else {
+				sb.append(offset < 0 ? '-' : '+');
+				offset = Math.abs(offset) / 60;
+				append2(sb, offset / 60);
+				append2(sb.append(':'), offset % 60);
+			}
+			return sb.toString();
+		}
+	},
+	/** {@link java.time.format.DateTimeFormatter#ISO_INSTANT} */
+	INSTANT {
+		@Override
+		TemporalAccessor parse(CharSequence value, int start, int end) {
+			int z = utcStart(value, start, end);
+			LocalDate date = z < 0 ? null : dateTime(value, start, z);
+			long nanoOfDay = date == null ? -1 : time(value, start + 11, z, true);
+			if(nanoOfDay < 0) return null;
+			long seconds = date.toEpochDay() * 86400 + nanoOfDay / 1_000_000_000;
+			return Instant.ofEpochSecond(seconds, nanoOfDay % 1_000_000_000);
+		}
+
+		@Override
+		String format(TemporalAccessor value) {
+			if(value.getClass() != Instant.class) return null;
+			Instant instant = (Instant) value;
+			//0001-01-01T00:00:00Z and 10000-01-01T00:00:00Z
+			if(instant.getEpochSecond() < -62135596800L || instant.getEpochSecond() >= 253402300800L) return null;
+			StringBuilder sb = new StringBuilder(30);
+			appendDateTime(sb, LocalDateTime.ofEpochSecond(instant.getEpochSecond(), instant.getNano(), ZoneOffset.UTC), true);
+			return sb.append('Z').toString();
+		}
+	};
+
+	/**
+	 * @param value the stripped text
+	 * @return the parsed value, null to use the formatter
+	 */
+	abstract TemporalAccessor parse(CharSequence value, int start, int end);
+
+	/**
+	 * @param value the value, not null
+	 * @return the text, null to use the formatter
+	 */
+	abstract String format(TemporalAccessor value);
+
+	/**
+	 * @return the value of the n digits, -1 if not digits
+	 */
+	private static int digits(CharSequence value, int start, int n) {
+		int v = 0;
+		for(int i = start ; i < start + n ; ++i) {
+			int d = value.charAt(i) - '0';
+			if(d < 0 || d > 9) return -1;
+			v = v * 10 + d;
+		}
+		return v;
+	}
+
+	/**
+	 * @return the yyyy-MM-dd date at start, null if not a valid one
+	 */
+	private static LocalDate date(CharSequence value, int start) {
+		long epochDay = epochDay(value, start);
+		return epochDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(epochDay);
+	}
+
+	/**
+	 * @return the epoch day of the yyyy-MM-dd date at start, Long.MIN_VALUE if not a valid one
+	 */
+	private static long epochDay(CharSequence value, int start) {
+		if(value.charAt(start + 4) != '-' || value.charAt(start + 7) != '-') return Long.MIN_VALUE;
+		int year = digits(value, start, 4);
+		int month = digits(value, start + 5, 2);
+		int day = digits(value, start + 8, 2);
+		if(year < 0 || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+			return Long.MIN_VALUE;
+		}
+		//days from civil, March based years
+		long y = month <= 2 ? year - 1 : year;
+		long era = Math.floorDiv(y, 400);
+		long yearOfEra = y - era * 400;
+		long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097 + dayOfEra - 719468;
+	}
+
+	/**
+	 * Same as {@link #INSTANT} without Instant
+	 * @return the epoch milli of the instant text, Long.MIN_VALUE to use the formatter
+	 */
+	static long parseEpochMilli(CharSequence value, int start, int end) {
+		int z = utcStart(value, start, end);
+		long epochDay = z - start >= 16 && value.charAt(start + 10) == 'T' ? epochDay(value, start) : Long.MIN_VALUE;
+		long nanoOfDay = epochDay == Long.MIN_VALUE ? -1 : time(value, start + 11, z, true);
+		if(nanoOfDay < 0) return Long.MIN_VALUE;
+		return epochDay * 86400_000 + nanoOfDay / 1_000_000;
+	}
+
+	/**
+	 * Same as {@link #INSTANT} without Instant
+	 * @return the instant text of the epoch milli, null to use the formatter
+	 */
+	static String formatEpochMilli(long epochMilli) {
+		long seconds = Math.floorDiv(epochMilli, 1000);
+		if(seconds < -62135596800L || seconds >= 253402300800L) return null;
+		long epochDay = Math.floorDiv(seconds, 86400);
+		int secondOfDay = Math.floorMod(seconds, 86400);
+		//civil from days, March based years
+		long z = epochDay + 719468;
+		long era = Math.floorDiv(z, 146097);
+		long dayOfEra = z - era * 146097;
+		long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		long mp = (5 * dayOfYear + 2) / 153;
+		int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+		int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+		int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+		StringBuilder sb = new StringBuilder(24);
+		appendDate(sb, year, month, day);
+		append2(sb.append('T'), secondOfDay / 3600);
+		append2(sb.append(':'), secondOfDay / 60 % 60);
+		append2(sb.append(':'), secondOfDay % 60);
+		int milli = Math.floorMod(epochMilli, 1000);
+		if(milli != 0) {
+			sb.append('.').append((char) ('0' + milli / 100));
+			append2(sb, milli % 100);
+		}
+		return sb.append('Z').toString();
+	}
+
+	/**
+	 * @return the date before the T of a date time, null if none
+	 */
+	private static LocalDate dateTime(CharSequence value, int start, int end) {
+		return end - start >= 16 && value.charAt(start + 10) == 'T' ? date(value, start) : null;
+	}
+
+	/**
+	 * @param seconds true if the seconds are required
+	 * @return the nano of day of the HH:mm[:ss[.S]] time, -1 if not a valid one
+	 */
+	private static long time(CharSequence value, int start, int end, boolean seconds) {
+		int length = end - start;
+		if(length < 5 || value.charAt(start + 2) != ':') return -1;
+		int hour = digits(value, start, 2);
+		int minute = digits(value, start + 3, 2);
+		int second = 0;
+		int nano = 0;
+		if(length == 5) {
+			if(seconds) return -1;
+		} else {
+			if(length < 8 || value.charAt(start + 5) != ':') return -1;
+			second = digits(value, start + 6, 2);
+			if(length > 8) {
+				int n = length - 9;
+				if(value.charAt(start + 8) != '.' || n < 1 || n > 9) return -1;
+				nano = digits(value, start + 9, n);
+				if(nano < 0) return -1;
+				for(int i = n ; i < 9 ; ++i) nano *= 10;
+			}
+		}
+		if(hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) return -1;
+		return (hour * 3600L + minute * 60 + second) * 1_000_000_000L + nano;
+	}
+
+	/**
+	 * ISO_INSTANT accepts the other offsets from Java 12 only : they are left to the formatter
+	 * @return the index of the trailing Z, -1 if none
+	 */
+	private static int utcStart(CharSequence value, int start, int end) {
+		return end > start && value.charAt(end - 1) == 'Z' ? end - 1 : -1;
+	}
+
+	/**
+	 * @return the start of a Z or +HH:MM offset, -1 if none
+	 */
+	private static int offsetStart(CharSequence value, int start, int end) {
+		if(end - start < 1) return -1;
+		if(value.charAt(end - 1) == 'Z') return end - 1;
+		if(end - start < 6) return -1;
+		char sign = value.charAt(end - 6);
+		return sign == '+' || sign == '-' ? end - 6 : -1;
+	}
+
+	/**
+	 * @return the offset seconds, Integer.MIN_VALUE if not a valid one
+	 */
+	private static int offset(CharSequence value, int start, int end) {
+		if(end - start == 1) return 0;
+		if(value.charAt(start + 3) != ':') return Integer.MIN_VALUE;
+		int hour = digits(value, start + 1, 2);
+		int minute = digits(value, start + 4, 2);
+		if(hour < 0 || hour > 17 || minute < 0 || minute > 59) return Integer.MIN_VALUE;
+		int offset = hour * 3600 + minute * 60;
+		return value.charAt(start) == '-' ? -offset : offset;
+	}
+
+	private static void append2(StringBuilder sb, int value) {
+		sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+	}
+
+	private static void appendDate(StringBuilder sb, int year, int month, int day) {
+		append2(sb, year / 100);
+		append2(sb, year % 100);
+		append2(sb.append('-'), month);
+		append2(sb.append('-'), day);
+	}
+
+	/**
+	 * @param instant true for the fraction of ISO_INSTANT, by 3 digits, false for the one of ISO_LOCAL_TIME
+	 */
+	private static void appendDateTime(StringBuilder sb, LocalDateTime dateTime, boolean instant) {
+		appendDate(sb, dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth());
+		append2(sb.append('T'), dateTime.getHour());
+		append2(sb.append(':'), dateTime.getMinute());
+		append2(sb.append(':'), dateTime.getSecond());
+		int nano = dateTime.getNano();
+		if(nano == 0) return;
+		int digits = 9;
+		if(instant) {
+			if(nano % 1_000_000 == 0) digits = 3;
+			else if(nano % 1000 == 0) digits = 6;
+		} else {
+			while(nano % 10 == 0) {
+				nano /= 10;
+				--digits;
+			}
+		}
+		String fraction = Integer.toString(instant ? nano / pow10(9 - digits) : nano);
+		sb.append('.');
+		for(int i = fraction.length() ; i < digits ; ++i) sb.append('0');
+		sb.append(fraction);
+	}
+
+	private static int pow10(int n) {
+		int p = 1;
+		for(int i = 0 ; i < n ; ++i) p *= 10;
+		return p;
+	}
+}
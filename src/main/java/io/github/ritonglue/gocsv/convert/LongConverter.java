@@ -6,7 +6,7 @@ package io.github.ritonglue.gocsv.convert;
  * </p>
  */
 
-public class LongConverter implements Converter<Long> {
+public class LongConverter implements LongValueConverter {
 
 	/**
 	 * @throws ConverterException {@inheritDoc}
@@ -47,4 +47,37 @@ public class LongConverter implements Converter<Long> {
 			throw new ConverterException(e);
 		}
 	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 * @throws NullPointerException if the value is null
+	 */
+	@Override
+	public long parseLong(String value) {
+		value = value.strip();
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException nfe) {
+			throw new ConverterException(value, nfe);
+		}
+	}
+
+	@Override
+	public String formatLong(long value) {
+		return Long.toString(value);
+	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 */
+	@Override
+	public long parseLong(CharSequence value, int start, int end) {
+		int s = CharSequences.stripStart(value, start, end);
+		int e = CharSequences.stripEnd(value, s, end);
+		try {
+			return Long.parseLong(value, s, e, 10);
+		} catch (NumberFormatException nfe) {
+			throw new ConverterException(CharSequences.toString(value, s, e), nfe);
+		}
+	}
 }
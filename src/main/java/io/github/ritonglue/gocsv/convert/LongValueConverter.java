@@ -0,0 +1,43 @@
+package io.github.ritonglue.gocsv.convert;
+
+/**
+ * <p>
+ * {@link Converter} of <code>long</code> values without boxing.
+ * The engine uses it for the <code>long</code> fields and properties : an empty value leaves the default value.
+ * </p>
+ */
+
+public interface LongValueConverter extends CharSequenceConverter<Long> {
+
+    /**
+     * Convert the specified string value.
+     * @param value String value to be converted, not empty
+     * @return the result of the conversion
+     * @throws ConverterException if the value can't be converted
+     */
+    long parseLong(String value);
+
+    /**
+     * Convert the specified primitive value.
+     * @param value primitive value to be converted
+     * @return the result of the conversion
+     */
+    String formatLong(long value);
+
+    /**
+     * Convert the specified range of characters.
+     * @param value the characters
+     * @param start the start index, inclusive
+     * @param end the end index, exclusive, the range is not blank
+     * @return the result of the conversion
+     * @throws ConverterException if the value can't be converted
+     */
+    default long parseLong(CharSequence value, int start, int end) {
+        return parseLong(CharSequences.toString(value, start, end));
+    }
+
+    @Override
+    default Long getAsObject(CharSequence value, int start, int end) {
+        return CharSequences.isBlank(value, start, end) ? null : parseLong(value, start, end);
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.ritonglue.gocsv.convert;
+
+/**
+ * <p>
+ * {@link Converter} of fixed point decimal values as <code>long</code> values of the smallest unit :
+ * with a scale of 2, "123.45" is 12345. A value with more non zero decimals than the scale,
+ * or out of the <code>long</code> range, is rejected.
+ * </p>
+ */
+
+public class ScaledLongConverter implements LongValueConverter {
+	private static final int MAX_SCALE = 18;
+	private final int scale;
+	private final long unit;
+
+	/**
+	 * @param scale the number of decimals, from 0 to 18
+	 */
+	public ScaledLongConverter(int scale) {
+		if(scale < 0 || scale > MAX_SCALE) {
+			throw new IllegalArgumentException("scale: " + scale);
+		}
+		this.scale = scale;
+		long unit = 1;
+		for(int i = 0 ; i < scale ; ++i) unit *= 10;
+		this.unit = unit;
+	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 * @throws NullPointerException {@inheritDoc}
+	 */
+	@Override
+	public Long getAsObject(String value) {
+		if (value == null) {
+			return null;
+		}
+		value = value.strip();
+		if (value.isEmpty()) {
+			return null;
+		}
+		return parseLong(value, 0, value.length());
+	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 * @throws NullPointerException {@inheritDoc}
+	 */
+	@Override
+	public String getAsString(Long value) {
+		return value == null ? "" : formatLong(value);
+	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 * @throws NullPointerException if the value is null
+	 */
+	@Override
+	public long parseLong(String value) {
+		return parseLong(value, 0, value.length());
+	}
+
+	/**
+	 * [+-]digits[.digits]
+	 * @throws ConverterException {@inheritDoc}
+	 */
+	@Override
+	public long parseLong(CharSequence value, int start, int end) {
+		int s = CharSequences.stripStart(value, start, end);
+		int e = CharSequences.stripEnd(value, s, end);
+		int i = s;
+		char c = i < e ? value.charAt(i) : 0;
+		boolean negative = c == '-';
+		if(negative || c == '+') ++i;
+		//negative accumulation reaches Long.MIN_VALUE
+		long result = 0;
+		int digits = 0;
+		int decimals = -1;
+		try {
+			for(; i < e ; ++i) {
+				c = value.charAt(i);
+				if(c >= '0' && c <= '9') {
+					++digits;
+					if(decimals >= 0 && ++decimals > scale) {
+						if(c != '0') {
+							throw new ConverterException("more than " + scale + " decimals: " + CharSequences.toString(value, s, e));
+						}
+						continue;
+					}
+					result = Math.subtractExact(Math.multiplyExact(result, 10), c - '0');
+				} else if(c == '.' && decimals < 0) {
+					decimals = 0;
+				} else {
+					throw new ConverterException(CharSequences.toString(value, s, e));
+				}
+			}
+			if(digits == 0) {
+				throw new ConverterException(CharSequences.toString(value, s, e));
+			}
+			for(int d = Math.max(decimals, 0) ; d < scale ; ++d) {
+				result = Math.multiplyExact(result, 10);
+			}
+			return negative ? result : Math.negateExact(result);
+		} catch (ArithmeticException ae) {
+			throw new ConverterException(CharSequences.toString(value, s, e), ae);
+		}
+	}
+
+	@Override
+	public String formatLong(long value) {
+		if(scale == 0) {
+			return Long.toString(value);
+		}
+		StringBuilder sb = new StringBuilder(21);
+		if(value < 0) sb.append('-');
+		//unsigned for Long.MIN_VALUE
+		long abs = Math.abs(value);
+		sb.append(Long.toUnsignedString(Long.divideUnsigned(abs, unit))).append('.');
+		String decimals = Long.toUnsignedString(Long.remainderUnsigned(abs, unit));
+		for(int i = decimals.length() ; i < scale ; ++i) sb.append('0');
+		return sb.append(decimals).toString();
+	}
+
+	public int getScale() {
+		return scale;
+	}
+}
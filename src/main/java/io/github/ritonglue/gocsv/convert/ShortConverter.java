@@ -6,7 +6,7 @@ package io.github.ritonglue.gocsv.convert;
  * </p>
  */
 
-public class ShortConverter implements Converter<Short> {
+public class ShortConverter implements CharSequenceConverter<Short> {
 
 	/**
 	 * @throws ConverterException {@inheritDoc}
@@ -47,4 +47,26 @@ public class ShortConverter implements Converter<Short> {
 			throw new ConverterException(e);
 		}
 	}
+
+	/**
+	 * @throws ConverterException {@inheritDoc}
+	 */
+	@Override
+	public Short getAsObject(CharSequence value, int start, int end) {
+		int s = CharSequences.stripStart(value, start, end);
+		int e = CharSequences.stripEnd(value, s, end);
+		if (s == e) {
+			return null;
+		}
+
+		try {
+			int i = Integer.parseInt(value, s, e, 10);
+			if (i < Short.MIN_VALUE || i > Short.MAX_VALUE) {
+				throw new NumberFormatException("Value out of range. Value:\"" + i + "\" Radix:10");
+			}
+			return Short.valueOf((short) i);
+		} catch (NumberFormatException nfe) {
+			throw new ConverterException(CharSequences.toString(value, s, e), nfe);
+		}
+	}
 }
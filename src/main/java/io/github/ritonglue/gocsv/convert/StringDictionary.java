@@ -0,0 +1,112 @@
+package io.github.ritonglue.gocsv.convert;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * Bounded dictionary of Strings looked up by a range of characters : an equal value is returned without creating
+ * a String. A value is looked up in a few slots of a fixed table, when they are all taken the first one is replaced.
+ * It is thread safe, without lock.
+ * </p>
+ */
+
+public final class StringDictionary {
+	public static final int DEFAULT_CAPACITY = 4096;
+	/** slots looked up per value */
+	private static final int PROBES = 4;
+
+	private final AtomicReferenceArray<String> table;
+	private final int mask;
+	private final AtomicInteger size = new AtomicInteger();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public StringDictionary() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity the maximum number of values, rounded up to a power of two
+	 */
+	public StringDictionary(int capacity) {
+		if(capacity < 1 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("capacity: " + capacity);
+		}
+		int length = Integer.highestOneBit(capacity);
+		if(length < capacity) length <<= 1;
+		this.table = new AtomicReferenceArray<>(length);
+		this.mask = length - 1;
+	}
+
+	/**
+	 * @param value the characters
+	 * @param start the start index, inclusive
+	 * @param end the end index, exclusive
+	 * @return the dictionary String equal to the range
+	 */
+	public String get(CharSequence value, int start, int end) {
+		int hash = 0;
+		for(int i = start ; i < end ; ++i) hash = 31 * hash + value.charAt(i);
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		for(int probe = 0 ; probe < PROBES ; ++probe) {
+			int index = (slot + probe) & mask;
+			String s = table.get(index);
+			if(s == null) {
+				String created = CharSequences.toString(value, start, end);
+				if(table.compareAndSet(index, null, created)) {
+					size.incrementAndGet();
+					misses.increment();
+					return created;
+				}
+				s = table.get(index);
+			}
+			if(s.hashCode() == hash && CharSequences.regionEquals(value, start, end, s)) {
+				hits.increment();
+				return s;
+			}
+		}
+		//replaces the first slot
+		String created = CharSequences.toString(value, start, end);
+		table.set(slot, created);
+		misses.increment();
+		return created;
+	}
+
+	/**
+	 * @param value the value, may be null
+	 * @return the dictionary String equal to the value, null if null
+	 */
+	public String get(String value) {
+		return value == null ? null : get(value, 0, value.length());
+	}
+
+	/**
+	 * @return the number of values found in the dictionary
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of values added to the dictionary
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of values in the dictionary
+	 */
+	public int size() {
+		return size.get();
+	}
+
+	/**
+	 * @return the maximum number of values
+	 */
+	public int getCapacity() {
+		return table.length();
+	}
+}
@@ -1,41 +1,364 @@
 package io.github.ritonglue.gocsv.processor;
 
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
+import io.github.ritonglue.gocsv.convert.BooleanValueConverter;
+import io.github.ritonglue.gocsv.convert.CharSequenceConverter;
+import io.github.ritonglue.gocsv.convert.CharSequences;
 import io.github.ritonglue.gocsv.convert.Converter;
+import io.github.ritonglue.gocsv.convert.DoubleValueConverter;
+import io.github.ritonglue.gocsv.convert.IntValueConverter;
+import io.github.ritonglue.gocsv.convert.LongValueConverter;
 
 public class AnnotationStorer {
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	private static final MethodHandle FUNCTION_APPLY;
+	private static final MethodHandle BICONSUMER_ACCEPT;
+	private static final MethodHandle WRAP;
+	private static final MethodType VALUE_READER_TYPE = MethodType.methodType(void.class, Object.class, CharSequence.class, int.class, int.class);
+	private static final MethodType VALUE_WRITER_TYPE = MethodType.methodType(String.class, Object.class);
+
+	static {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			FUNCTION_APPLY = lookup.findVirtual(Function.class, "apply", GETTER_TYPE);
+			BICONSUMER_ACCEPT = lookup.findVirtual(BiConsumer.class, "accept", SETTER_TYPE);
+			WRAP = lookup.findStatic(AnnotationStorer.class, "wrap", MethodType.methodType(void.class, Throwable.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
 	private final Converter<?> converter;
+	/** the converter if it reads ranges, null otherwise */
+	private final CharSequenceConverter<?> rangeConverter;
 	private final int order;
 	private final String header;
 	private final Class<?> clazz;
 	private final Field field;
 	private final Method getter;
 	private final Method setter;
+	/** (Object)Object read accessor, built once */
+	private final MethodHandle getterHandle;
+	/** (Object,Object)void write accessor, built once. null if not writable */
+	private final MethodHandle setterHandle;
+	/** (Object,CharSequence,int,int)void parse and write of a primitive without boxing, null if not available */
+	private final MethodHandle valueReader;
+	/** (Object)String read and format of a primitive without boxing, null if not available */
+	private final MethodHandle valueWriter;
+	/** default value of the type : null or the primitive zero */
+	private final Object defaultValue;
 
 	public AnnotationStorer(Field field, Converter<?> converter, int order, String header) {
-		this.order = order;
-		this.header = header;
-		this.clazz = field.getType();
-		this.field = field;
-		this.converter = converter;
-		this.getter = null;
-		this.setter = null;
-		Objects.requireNonNull(converter, "converter null: " + order);
+		this(field.getType(), field, null, null, getterHandle(field), setterHandle(field), converter, order, header);
 	}
 
 	public AnnotationStorer(PropertyDescriptor pd, Converter<?> converter, int order, String header) {
+		this(pd.getReadMethod().getReturnType(), null, pd.getReadMethod(), pd.getWriteMethod()
+			, getterHandle(pd.getReadMethod()), pd.getWriteMethod() == null ? null : setterHandle(pd.getWriteMethod())
+			, converter, order, header);
+	}
+
+	public AnnotationStorer(Binder.Column<?> column, Converter<?> converter, int order, String header) {
+		this(column.getType(), null, null, null, getterHandle(column), setterHandle(column), converter, order, header);
+	}
+
+	AnnotationStorer(Class<?> clazz, Field field, Method getter, Method setter
+			, MethodHandle getterHandle, MethodHandle setterHandle
+			, Converter<?> converter, int order, String header) {
 		this.order = order;
 		this.header = header;
-		this.getter = pd.getReadMethod();
-		this.setter = pd.getWriteMethod();
-		this.clazz = getter.getReturnType();
-		this.field = null;
+		this.clazz = clazz;
+		this.field = field;
+		this.getter = getter;
+		this.setter = setter;
 		this.converter = converter;
 		Objects.requireNonNull(converter, "converter null: " + order);
+		this.rangeConverter = converter instanceof CharSequenceConverter ? (CharSequenceConverter<?>) converter : null;
+		this.getterHandle = getterHandle.asType(GETTER_TYPE);
+		//the setter exceptions are wrapped, not the converter ones, with the values of another type or null for a primitive
+		this.setterHandle = setterHandle == null ? null : wrapExceptions(setterHandle.asType(SETTER_TYPE));
+		setterHandle = setterHandle == null ? null : wrapExceptions(setterHandle);
+		//unboxed paths when both the accessor and the converter handle the primitive
+		MethodHandle parser = primitiveConverter(clazz, converter, "parse", MethodType.methodType(clazz, CharSequence.class, int.class, int.class));
+		MethodHandle formatter = primitiveConverter(clazz, converter, "format", MethodType.methodType(String.class, clazz));
+		this.valueReader = parser == null || setterHandle == null || setterHandle.type().parameterType(1) != clazz ? null
+			: MethodHandles.collectArguments(setterHandle, 1, parser).asType(VALUE_READER_TYPE);
+		this.valueWriter = formatter == null || getterHandle.type().returnType() != clazz ? null
+			: MethodHandles.filterReturnValue(getterHandle, formatter).asType(VALUE_WRITER_TYPE);
+		this.defaultValue = clazz.isPrimitive() ? Array.get(Array.newInstance(clazz, 1), 0) : null;
+	}
+
+	/**
+	 * @return the void handle wrapping its exceptions, but the errors, in a RuntimeException
+	 */
+	private static MethodHandle wrapExceptions(MethodHandle handle) {
+		MethodHandle handler = MethodHandles.dropArguments(WRAP, 1, handle.type().parameterList());
+		return MethodHandles.catchException(handle, Throwable.class, handler);
+	}
+
+	private static void wrap(Throwable e) {
+		if(e instanceof Error) throw (Error) e;
+		throw new RuntimeException(e);
+	}
+
+	/**
+	 * @return the parse or format method of the converter bound to it, null if the converter doesn't handle the primitive type
+	 */
+	private static MethodHandle primitiveConverter(Class<?> type, Converter<?> converter, String prefix, MethodType methodType) {
+		Class<?> converterClazz;
+		if(type == int.class) {
+			converterClazz = IntValueConverter.class;
+		} else if(type == long.class) {
+			converterClazz = LongValueConverter.class;
+		} else if(type == double.class) {
+			converterClazz = DoubleValueConverter.class;
+		} else if(type == boolean.class) {
+			converterClazz = BooleanValueConverter.class;
+		} else {
+			return null;
+		}
+		if(!converterClazz.isInstance(converter)) {
+			return null;
+		}
+		String name = prefix + Character.toUpperCase(type.getName().charAt(0)) + type.getName().substring(1);
+		try {
+			return MethodHandles.lookup().findVirtual(converterClazz, name, methodType).bindTo(converter);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * The handles below keep the natural value type : (Object)V and (Object,V)void
+	 */
+	static MethodHandle getterHandle(Field field) {
+		try {
+			field.setAccessible(true);
+			return receiver(MethodHandles.lookup().unreflectGetter(field));
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static MethodHandle setterHandle(Field field) {
+		try {
+			field.setAccessible(true);
+			return receiver(MethodHandles.lookup().unreflectSetter(field));
+		} catch (IllegalAccessException e) {
+			//final field of a record or hidden class
+			return null;
+		}
+	}
+
+	static MethodHandle getterHandle(Method getter) {
+		try {
+			getter.setAccessible(true);
+			return receiver(MethodHandles.lookup().unreflect(getter));
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static MethodHandle setterHandle(Method setter) {
+		try {
+			setter.setAccessible(true);
+			return receiver(MethodHandles.lookup().unreflect(setter));
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static MethodHandle getterHandle(Binder.Column<?> column) {
+		Object getter = column.getPrimitiveGetter();
+		if(getter == null) {
+			return FUNCTION_APPLY.bindTo(column.getGetter());
+		}
+		Class<?> type = column.getType();
+		if(type == int.class) return functional(ToIntFunction.class, "applyAsInt", getter, int.class);
+		if(type == long.class) return functional(ToLongFunction.class, "applyAsLong", getter, long.class);
+		if(type == double.class) return functional(ToDoubleFunction.class, "applyAsDouble", getter, double.class);
+		return functional(Predicate.class, "test", getter, boolean.class);
+	}
+
+	static MethodHandle setterHandle(Binder.Column<?> column) {
+		Object setter = column.getPrimitiveSetter();
+		if(setter == null) {
+			return column.getSetter() == null ? null : BICONSUMER_ACCEPT.bindTo(column.getSetter());
+		}
+		Class<?> type = column.getType();
+		if(type == int.class) return functional(ObjIntConsumer.class, "accept", setter, void.class, int.class);
+		if(type == long.class) return functional(ObjLongConsumer.class, "accept", setter, void.class, long.class);
+		if(type == double.class) return functional(ObjDoubleConsumer.class, "accept", setter, void.class, double.class);
+		return functional(Binder.ObjBooleanConsumer.class, "accept", setter, void.class, boolean.class);
+	}
+
+	/**
+	 * @return the (Object)R or (Object,P)R method of the functional interface bound to the instance
+	 */
+	private static MethodHandle functional(Class<?> functional, String name, Object instance, Class<?> returnType, Class<?>... parameterTypes) {
+		MethodType type = MethodType.methodType(returnType, Object.class, parameterTypes);
+		try {
+			return MethodHandles.lookup().findVirtual(functional, name, type).bindTo(instance);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @return the handle with an Object receiver
+	 */
+	private static MethodHandle receiver(MethodHandle handle) {
+		return handle.asType(handle.type().changeParameterType(0, Object.class));
+	}
+
+	/**
+	 * Reads the value of the field or property
+	 * @param t the object to read from
+	 * @return the value
+	 */
+	public Object getValue(Object t) {
+		try {
+			return (Object) getterHandle.invokeExact(t);
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Writes the value of the field or property
+	 * @param t the object to modify
+	 * @param value the new value
+	 */
+	public void setValue(Object t, Object value) {
+		if(setterHandle == null) {
+			throw new AssertionError("no field, no setter");
+		}
+		try {
+			setterHandle.invokeExact(t, value);
+		} catch (RuntimeException | Error e) {
+			//already wrapped by the handle
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Writes the default value of the type : null, zero or false
+	 * @param t the object to modify
+	 */
+	void reset(Object t) {
+		setValue(t, defaultValue);
+	}
+
+	/**
+	 * @return true if the value is parsed and written without boxing
+	 */
+	boolean hasValueReader() {
+		return valueReader != null;
+	}
+
+	/**
+	 * @return true if the value is read and formatted without boxing
+	 */
+	boolean hasValueWriter() {
+		return valueWriter != null;
+	}
+
+	/**
+	 * Parses and writes the primitive value. A blank or null value is converted and written boxed :
+	 * it fails as {@link #setValue(Object, Object)} does if the converter gives null
+	 * @param t the object to modify
+	 * @param chars the characters, null for a null value
+	 * @param start the start index of the value, inclusive
+	 * @param end the end index of the value, exclusive
+	 */
+	void readValue(Object t, CharSequence chars, int start, int end) {
+		if(chars == null || CharSequences.isBlank(chars, start, end)) {
+			setValue(t, toObject(chars, start, end));
+			return;
+		}
+		try {
+			valueReader.invokeExact(t, chars, start, end);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Converts the value, without copy if the converter reads ranges
+	 * @param chars the characters, null for a null value
+	 * @param start the start index of the value, inclusive
+	 * @param end the end index of the value, exclusive
+	 * @return the converted value
+	 */
+	Object toObject(CharSequence chars, int start, int end) {
+		if(chars == null) {
+			return converter.getAsObject(null);
+		}
+		if(rangeConverter != null) {
+			return rangeConverter.getAsObject(chars, start, end);
+		}
+		return converter.getAsObject(CharSequences.toString(chars, start, end));
+	}
+
+	/**
+	 * Reads and formats the primitive value
+	 * @param t the object to read from
+	 * @return the column value
+	 */
+	String writeValue(Object t) {
+		try {
+			return (String) valueWriter.invokeExact(t);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @return (Object,CharSequence,int,int)void or null
+	 */
+	MethodHandle getValueReader() {
+		return valueReader;
+	}
+
+	/**
+	 * @return (Object)String or null
+	 */
+	MethodHandle getValueWriter() {
+		return valueWriter;
+	}
+
+	MethodHandle getGetterHandle() {
+		return getterHandle;
+	}
+
+	MethodHandle getSetterHandle() {
+		return setterHandle;
 	}
 
 	public Field getField() {
@@ -0,0 +1,50 @@
+package io.github.ritonglue.gocsv.processor;
+
+/**
+ * {@link Row} over a copy of the values of a record
+ */
+final class ArrayRow implements Row {
+	private final String[] values;
+	private Object[] whereValues;
+
+	ArrayRow(String[] values, Object[] whereValues) {
+		this.values = values;
+		this.whereValues = whereValues;
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	@Override
+	public CharSequence chars(int i) {
+		return values[i];
+	}
+
+	@Override
+	public int start(int i) {
+		return 0;
+	}
+
+	@Override
+	public int end(int i) {
+		String value = values[i];
+		return value == null ? 0 : value.length();
+	}
+
+	@Override
+	public String get(int i) {
+		return values[i];
+	}
+
+	@Override
+	public Object[] getWhereValues() {
+		return whereValues;
+	}
+
+	@Override
+	public void setWhereValues(Object[] whereValues) {
+		this.whereValues = whereValues;
+	}
+}
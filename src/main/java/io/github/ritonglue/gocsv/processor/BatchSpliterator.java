@@ -0,0 +1,108 @@
+package io.github.ritonglue.gocsv.processor;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator of converted records splitting into batches of raw records.
+ * <p>
+ * The raw records are read sequentially, a split takes the next batch of them and the batch is converted
+ * by the thread which owns it. The batch size grows at each split, from a small batch for the first workers
+ * to a large one amortizing the reading.
+ *
+ * @param <R> the raw record, detached from the reader
+ * @param <T> the converted record
+ */
+abstract class BatchSpliterator<R, T> implements Spliterator<T> {
+	static final int BATCH_UNIT = 128;
+	static final int MAX_BATCH = 1 << 16;
+
+	private int batch;
+
+	/**
+	 * @return the next raw record, null at the end of the input
+	 */
+	protected abstract R read();
+
+	protected abstract T convert(R raw);
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		R raw = read();
+		if(raw == null) return false;
+		action.accept(convert(raw));
+		return true;
+	}
+
+	@Override
+	public Spliterator<T> trySplit() {
+		int n = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+		Object[] raws = new Object[n];
+		int size = 0;
+		R raw;
+		while(size < n && (raw = read()) != null) {
+			raws[size++] = raw;
+		}
+		if(size == 0) return null;
+		batch = size;
+		return new Batch(raws, size);
+	}
+
+	@Override
+	public long estimateSize() {
+		return Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | NONNULL;
+	}
+
+	/**
+	 * Batch of raw records converted on tryAdvance
+	 */
+	private class Batch implements Spliterator<T> {
+		private final Object[] raws;
+		private int index;
+		private final int end;
+
+		private Batch(Object[] raws, int end) {
+			this(raws, 0, end);
+		}
+
+		private Batch(Object[] raws, int index, int end) {
+			this.raws = raws;
+			this.index = index;
+			this.end = end;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			if(index >= end) return false;
+			@SuppressWarnings("unchecked")
+			R raw = (R) raws[index];
+			raws[index++] = null;
+			action.accept(convert(raw));
+			return true;
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			int mid = (index + end) >>> 1;
+			if(mid <= index) return null;
+			Spliterator<T> prefix = new Batch(raws, index, mid);
+			index = mid;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return end - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL | SIZED | SUBSIZED;
+		}
+	}
+}
@@ -0,0 +1,249 @@
+package io.github.ritonglue.gocsv.processor;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import io.github.ritonglue.gocsv.convert.Converter;
+
+/**
+ * Reflection free description of a pojo, generated at compile time by
+ * {@link io.github.ritonglue.gocsv.apt.BinderProcessor}.
+ * The generated class is named after the binary name of the pojo, '$' replaced by '_', followed by
+ * {@link #SUFFIX} and is picked up by {@link CSVEngine#builder(Class)}.
+ *
+ * @param <T> the pojo type
+ */
+public interface Binder<T> {
+	String SUFFIX = "_CSVBinder";
+
+	/**
+	 * @return the pojo class
+	 */
+	Class<T> type();
+
+	/**
+	 * @return the columns in declaration order
+	 */
+	List<Column<T>> columns();
+
+	/**
+	 * @return a new instance of the pojo
+	 */
+	T newInstance();
+
+	/**
+	 * @param callback the life cycle event
+	 * @return the life cycle method or null if none
+	 */
+	Consumer<? super T> callback(CallbackEnum callback);
+
+	/**
+	 * Write accessor of a boolean field or property
+	 * @param <T> the pojo type
+	 */
+	@FunctionalInterface
+	interface ObjBooleanConsumer<T> {
+		void accept(T t, boolean value);
+	}
+
+	/**
+	 * A bound field or property
+	 * @param <T> the pojo type
+	 */
+	final class Column<T> {
+		private final String name;
+		private final String header;
+		private final int order;
+		private final Class<?> type;
+		private final Supplier<? extends Converter<?>> converter;
+		private final String pattern;
+		private final Function<T, Object> getter;
+		private final BiConsumer<T, Object> setter;
+		/** unboxed accessors of a primitive column, null otherwise */
+		private final Object primitiveGetter;
+		private final Object primitiveSetter;
+		private final boolean dedup;
+		private final int cacheSize;
+		private final int scale;
+
+		/**
+		 * @param name the field or property name
+		 * @param header the header, empty for the name
+		 * @param order the order
+		 * @param type the field or property type
+		 * @param converter the declared converter, null to auto-apply
+		 * @param pattern the date or time pattern, empty if none
+		 * @param getter the read accessor
+		 * @param setter the write accessor, null if read only
+		 */
+		public Column(String name, String header, int order, Class<?> type
+				, Supplier<? extends Converter<?>> converter, String pattern
+				, Function<T, Object> getter, BiConsumer<T, Object> setter) {
+			this(name, header, order, type, converter, pattern, getter, setter, null, null, false, 0, -1);
+		}
+
+		private Column(String name, String header, int order, Class<?> type
+				, Supplier<? extends Converter<?>> converter, String pattern
+				, Function<T, Object> getter, BiConsumer<T, Object> setter
+				, Object primitiveGetter, Object primitiveSetter, boolean dedup, int cacheSize, int scale) {
+			this.name = Objects.requireNonNull(name, "name null");
+			this.header = header;
+			this.order = order;
+			this.type = Objects.requireNonNull(type, "type null");
+			this.converter = converter;
+			this.pattern = pattern;
+			this.getter = Objects.requireNonNull(getter, "getter null");
+			this.setter = setter;
+			this.primitiveGetter = primitiveGetter;
+			this.primitiveSetter = primitiveSetter;
+			this.dedup = dedup;
+			this.cacheSize = cacheSize;
+			this.scale = scale;
+		}
+
+		/**
+		 * @return a copy of the column deduplicating its String values
+		 */
+		public Column<T> dedup() {
+			return new Column<>(name, header, order, type, converter, pattern, getter, setter, primitiveGetter, primitiveSetter, true, cacheSize, scale);
+		}
+
+		/**
+		 * @param cacheSize the number of converted values kept, 0 for no cache
+		 * @return a copy of the column caching its converted values
+		 */
+		public Column<T> cache(int cacheSize) {
+			return new Column<>(name, header, order, type, converter, pattern, getter, setter, primitiveGetter, primitiveSetter, dedup, cacheSize, scale);
+		}
+
+		/**
+		 * @param scale the number of decimals of the long column, -1 if none
+		 * @return a copy of the column read and written with a {@link io.github.ritonglue.gocsv.convert.ScaledLongConverter}
+		 */
+		public Column<T> scale(int scale) {
+			return new Column<>(name, header, order, type, converter, pattern, getter, setter, primitiveGetter, primitiveSetter, dedup, cacheSize, scale);
+		}
+
+		/**
+		 * Column of an int field or property, read and written without boxing
+		 * @param <T> the pojo type
+		 * @param name the field or property name
+		 * @param header the header, empty for the name
+		 * @param order the order
+		 * @param converter the declared converter, null to auto-apply
+		 * @param pattern the date or time pattern, empty if none
+		 * @param getter the read accessor
+		 * @param setter the write accessor, null if read only
+		 * @return the column
+		 */
+		public static <T> Column<T> ofInt(String name, String header, int order
+				, Supplier<? extends Converter<?>> converter, String pattern
+				, ToIntFunction<T> getter, ObjIntConsumer<T> setter) {
+			return new Column<>(name, header, order, int.class, converter, pattern
+				, t -> getter.applyAsInt(t), setter == null ? null : (t, v) -> setter.accept(t, (Integer) v)
+				, getter, setter, false, 0, -1);
+		}
+
+		/**
+		 * Column of a long field or property, see {@link #ofInt}
+		 */
+		public static <T> Column<T> ofLong(String name, String header, int order
+				, Supplier<? extends Converter<?>> converter, String pattern
+				, ToLongFunction<T> getter, ObjLongConsumer<T> setter) {
+			return new Column<>(name, header, order, long.class, converter, pattern
+				, t -> getter.applyAsLong(t), setter == null ? null : (t, v) -> setter.accept(t, (Long) v)
+				, getter, setter, false, 0, -1);
+		}
+
+		/**
+		 * Column of a double field or property, see {@link #ofInt}
+		 */
+		public static <T> Column<T> ofDouble(String name, String header, int order
+				, Supplier<? extends Converter<?>> converter, String pattern
+				, ToDoubleFunction<T> getter, ObjDoubleConsumer<T> setter) {
+			return new Column<>(name, header, order, double.class, converter, pattern
+				, t -> getter.applyAsDouble(t), setter == null ? null : (t, v) -> setter.accept(t, (Double) v)
+				, getter, setter, false, 0, -1);
+		}
+
+		/**
+		 * Column of a boolean field or property, see {@link #ofInt}
+		 */
+		public static <T> Column<T> ofBoolean(String name, String header, int order
+				, Supplier<? extends Converter<?>> converter, String pattern
+				, Predicate<T> getter, ObjBooleanConsumer<T> setter) {
+			return new Column<>(name, header, order, boolean.class, converter, pattern
+				, t -> getter.test(t), setter == null ? null : (t, v) -> setter.accept(t, (Boolean) v)
+				, getter, setter, false, 0, -1);
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getHeader() {
+			return header;
+		}
+
+		public int getOrder() {
+			return order;
+		}
+
+		public Class<?> getType() {
+			return type;
+		}
+
+		public boolean isDedup() {
+			return dedup;
+		}
+
+		public int getCacheSize() {
+			return cacheSize;
+		}
+
+		public int getScale() {
+			return scale;
+		}
+
+		public Supplier<? extends Converter<?>> getConverter() {
+			return converter;
+		}
+
+		public String getPattern() {
+			return pattern;
+		}
+
+		public Function<T, Object> getGetter() {
+			return getter;
+		}
+
+		public BiConsumer<T, Object> getSetter() {
+			return setter;
+		}
+
+		/**
+		 * @return the ToIntFunction, ToLongFunction, ToDoubleFunction or Predicate of a primitive column, null otherwise
+		 */
+		Object getPrimitiveGetter() {
+			return primitiveGetter;
+		}
+
+		/**
+		 * @return the ObjIntConsumer, ObjLongConsumer, ObjDoubleConsumer or ObjBooleanConsumer of a primitive column, null otherwise
+		 */
+		Object getPrimitiveSetter() {
+			return primitiveSetter;
+		}
+	}
+}
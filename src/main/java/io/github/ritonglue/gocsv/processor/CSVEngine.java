@@ -1,27 +1,34 @@
 package io.github.ritonglue.gocsv.processor;
 
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Reader;
-import java.lang.reflect.AccessibleObject;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
-import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -30,15 +37,8 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
-import io.github.ritonglue.gocsv.annotation.Access;
-import io.github.ritonglue.gocsv.annotation.AccessType;
-import io.github.ritonglue.gocsv.annotation.CSVBinding;
-import io.github.ritonglue.gocsv.annotation.Convert;
-import io.github.ritonglue.gocsv.annotation.Transient;
+import io.github.ritonglue.gocsv.convert.CharSequences;
 import io.github.ritonglue.gocsv.convert.Converter;
-import io.github.ritonglue.gocsv.convert.DateTimeConverter;
-import io.github.ritonglue.gocsv.convert.DefaultConverters;
-import io.github.ritonglue.gocsv.convert.EnumConverter;
 
 public class CSVEngine<T> {
 	private static final String[] EMPTY_STRINGS = new String[0];
@@ -46,11 +46,48 @@ public class CSVEngine<T> {
 	private final Mode mode;
 	private final Class<T> clazz;
 	private final Predicate<CSVRecord> predicate;
+	/** true if a record filter was set */
+	private final boolean filtered;
+	private final ParserType parserType;
 	private final RecordHandler recordHandler;
-	private final List<AnnotationStorer> storers = new ArrayList<>();
+	/** shared by the engines of the class with the same converter classes, except the deduplicated or cached columns */
+	private final List<AnnotationStorer> storers;
 	private final CallbackIndex callback;
+	/** registered converters only */
 	private final Map<Class<?>, Converter<?>> converters;
-	private final Map<CallbackEnum, Consumer<? super T>> callbacks = new EnumMap<>(CallbackEnum.class);
+	private final Map<CallbackEnum, Consumer<Object>> callbacks;
+	private final HandleBinder binder;
+	/** compile time generated binder, null if none */
+	private final Binder<T> classBinder;
+	/** constructor binding, null if created with the no-arg constructor */
+	private final ConstructorBinder constructorBinder;
+	/** true if the column of the storer is parsed, null if all are */
+	private final boolean[] projection;
+	/** column conditions, their indexes follow the storer indexes in the column plan */
+	private final Where<?>[] wheres;
+	private final AnnotationStorer[] whereStorers;
+	/** storer index set with the value converted by each condition, -1 if none : its index is -1 in the plan */
+	private final int[] whereTargets;
+	private final boolean reuseInstance;
+
+	/**
+	 * Typed condition on a column
+	 */
+	private static final class Where<V> {
+		private final String header;
+		private final Class<V> type;
+		private final Predicate<? super V> predicate;
+
+		private Where(String header, Class<V> type, Predicate<? super V> predicate) {
+			this.header = Objects.requireNonNull(header, "header null");
+			this.type = Objects.requireNonNull(type, "type null");
+			this.predicate = Objects.requireNonNull(predicate, "predicate null");
+		}
+
+		private boolean test(Object value) {
+			return predicate.test(type.cast(value));
+		}
+	}
 
 	public static class Builder<T> {
 		private Mode mode;
@@ -59,16 +96,110 @@ public class CSVEngine<T> {
 		private RecordHandler recordHandler;
 		private CallbackIndex callback;
 		private Map<Class<?>, Converter<?>> converters;
+		/** classes of the converters registered by class, to share the storers */
+		private final Map<Class<?>, Class<?>> converterClasses = new HashMap<>();
+		private boolean codegen;
+		private ParserType parserType = ParserType.COMMONS_CSV;
+		private Set<String> selected;
+		private List<Where<?>> wheres;
+		private boolean reuseInstance;
+		private boolean dedup;
+		private Map<String, Integer> cacheSizes;
 
 		public Builder<T> mode(Mode mode) {this.mode = mode; return this;}
 		public Builder<T> clazz(Class<T> clazz) {this.clazz = clazz; return this;}
 		public Builder<T> filter(Predicate<CSVRecord> predicate) {this.predicate = predicate; return this;}
 		public Builder<T> callback(CallbackIndex callback) {this.callback = callback; return this;}
-		public Builder<T> register(Map<Class<?>, Converter<?>> converters) {this.converters = converters; return this;}
+		public Builder<T> register(Map<Class<?>, Converter<?>> converters) {
+			this.converters = converters;
+			this.converterClasses.clear();
+			return this;
+		}
+		/**
+		 * Generates a per class binder for parsing and writing instead of looping over the columns.
+		 * Falls back to the loop if the binder can't be generated.
+		 * @param codegen true to generate the binder
+		 * @return this builder
+		 */
+		public Builder<T> codegen(boolean codegen) {this.codegen = codegen; return this;}
+		/**
+		 * Selects the CSV reader of {@link CSVEngine#parseAsStream(Reader, CSVFormat)}.
+		 * The NATIVE reader doesn't support the record filter.
+		 * @param parserType the reader, COMMONS_CSV by default
+		 * @return this builder
+		 */
+		public Builder<T> parser(ParserType parserType) {this.parserType = parserType; return this;}
+		/**
+		 * Parses only the given columns, the other ones keep their default value.
+		 * The NATIVE reader stops reading a record after the last selected column. Writing is not changed.
+		 * @param headers the headers of the columns
+		 * @return this builder
+		 */
+		public Builder<T> select(String... headers) {
+			this.selected = new HashSet<>(Arrays.asList(headers));
+			return this;
+		}
+		/**
+		 * Overwrites one instance for all the records of {@link CSVEngine#forEach(Reader, CSVFormat, Consumer)}
+		 * instead of creating one per record. The fields of the absent or empty values are reset to null, zero or false.
+		 * Needs a class created with its no-arg constructor.
+		 * @param reuseInstance true to reuse the instance
+		 * @return this builder
+		 */
+		public Builder<T> reuseInstance(boolean reuseInstance) {this.reuseInstance = reuseInstance; return this;}
+		/**
+		 * Shares the instances of the equal values of all the String columns without declared converter,
+		 * as {@link io.github.ritonglue.gocsv.annotation.CSVBinding#dedup()} does for a column.
+		 * @param dedup true to deduplicate the values
+		 * @return this builder
+		 * @see #getConverter(String)
+		 */
+		public Builder<T> dedup(boolean dedup) {this.dedup = dedup; return this;}
+		/**
+		 * Keeps the last converted values of the column in a {@link io.github.ritonglue.gocsv.convert.CachingConverter},
+		 * replacing {@link io.github.ritonglue.gocsv.annotation.Convert#cacheSize()}.
+		 * A cached int, long, double or boolean column is converted with boxing.
+		 * @param header the header of the column
+		 * @param cacheSize the number of values kept, 0 for no cache
+		 * @return this builder
+		 * @see #getConverter(String)
+		 */
+		public Builder<T> cache(String header, int cacheSize) {
+			Objects.requireNonNull(header, "header null");
+			if(cacheSize < 0) {
+				throw new IllegalArgumentException("cacheSize: " + cacheSize);
+			}
+			if(this.cacheSizes == null) this.cacheSizes = new HashMap<>();
+			this.cacheSizes.put(header, cacheSize);
+			return this;
+		}
+		/**
+		 * Keeps the records whose column value matches the predicate. Only the column is converted,
+		 * with its converter, before the record : the rejected records are not converted.
+		 * The predicate receives null for an empty or missing value.
+		 * @param header the header of the column
+		 * @param type the column type, or a super type
+		 * @param predicate the condition on the converted value
+		 * @return this builder
+		 */
+		public <V> Builder<T> where(String header, Class<V> type, Predicate<? super V> predicate) {
+			if(this.wheres == null) this.wheres = new ArrayList<>();
+			this.wheres.add(new Where<>(header, type, predicate));
+			return this;
+		}
+		/**
+		 * Registers a new instance of the converter class. The engines registering the same converter classes
+		 * share the instances.
+		 * @param clazz the converted type
+		 * @param converterClazz the converter class, with a no-arg constructor
+		 * @return this builder
+		 */
 		public <U> Builder<T> register(Class<U> clazz, Class<? extends Converter<U>> converterClazz) {
 			try {
 				Converter<U> converter = converterClazz.getDeclaredConstructor().newInstance();
-				return register(clazz, converter);
+				register(clazz, converter);
+				this.converterClasses.put(clazz, converterClazz);
+				return this;
 			} catch (ReflectiveOperationException e) {
 				throw new RuntimeException(e);
 			}
@@ -76,6 +207,7 @@ public class CSVEngine<T> {
 		public <U> Builder<T> register(Class<U> clazz, Converter<U> converter) {
 			if(this.converters == null) this.converters = new HashMap<>();
 			this.converters.put(clazz, converter);
+			this.converterClasses.remove(clazz);
 			return this;
 		}
 
@@ -92,15 +224,86 @@ public class CSVEngine<T> {
 		this.mode = Objects.requireNonNull(b.mode, "mode null");
 		this.clazz = Objects.requireNonNull(b.clazz, "clazz null");
 		this.predicate = b.predicate == null ? o -> true : b.predicate;
+		this.filtered = b.predicate != null;
+		this.parserType = Objects.requireNonNull(b.parserType, "parserType null");
+		if(parserType == ParserType.NATIVE && b.predicate != null) {
+			throw new IllegalArgumentException("filter needs the COMMONS_CSV parser");
+		}
 		this.recordHandler = b.recordHandler;
 		this.callback = b.callback;
-		this.converters = new HashMap<>();
-		this.converters.putAll(DefaultConverters.getConverters());
-		//replace or add new converters
-		if(b.converters != null) {
-			this.converters.putAll(b.converters);
+		//replace or add new converters, the default ones are looked up after
+		this.converters = b.converters == null ? Collections.emptyMap() : new HashMap<>(b.converters);
+		ClassMetadata metadata = ClassMetadata.of(clazz);
+		metadata.validate(mode);
+		//the storers are shared when all the converters are registered by class
+		Map<Class<?>, Class<?>> converterClasses = converters.size() == b.converterClasses.size() ? b.converterClasses : null;
+		this.storers = metadata.getStorers(converters, converterClasses, b.dedup
+			, b.cacheSizes == null ? Collections.emptyMap() : b.cacheSizes);
+		if(b.cacheSizes != null) {
+			//same check as the projection
+			projection(storers, b.cacheSizes.keySet());
+		}
+		this.callbacks = metadata.getCallbacks();
+		@SuppressWarnings("unchecked")
+		Binder<T> classBinder = (Binder<T>) metadata.getBinder();
+		this.classBinder = classBinder;
+		this.constructorBinder = metadata.getConstructorBinder();
+		this.reuseInstance = b.reuseInstance;
+		if(reuseInstance && constructorBinder != null) {
+			throw new IllegalArgumentException("reuseInstance needs the no-arg constructor: " + clazz.getName());
+		}
+		this.binder = b.codegen && constructorBinder == null ? HandleBinder.create(storers, recordHandler, callback) : null;
+		this.projection = b.selected == null ? null : projection(storers, b.selected);
+		this.wheres = b.wheres == null ? new Where<?>[0] : b.wheres.toArray(new Where<?>[0]);
+		this.whereStorers = new AnnotationStorer[wheres.length];
+		this.whereTargets = new int[wheres.length];
+		Set<Integer> targets = new HashSet<>();
+		for(int w = 0 ; w < wheres.length ; ++w) {
+			int i = whereIndex(storers, wheres[w]);
+			whereStorers[w] = storers.get(i);
+			//the first condition of a parsed column converts it
+			boolean parsed = projection == null || projection[i];
+			whereTargets[w] = parsed && targets.add(i) ? i : -1;
+		}
+	}
+
+	private static int whereIndex(List<AnnotationStorer> storers, Where<?> where) {
+		for(int i = 0 ; i < storers.size() ; ++i) {
+			AnnotationStorer storer = storers.get(i);
+			if(storer.getHeader().equals(where.header)) {
+				Class<?> type = MethodType.methodType(storer.getClazz()).wrap().returnType();
+				if(!where.type.isAssignableFrom(type)) {
+					throw new IllegalArgumentException("column " + where.header + " is a " + type.getName());
+				}
+				return i;
+			}
 		}
-		init();
+		throw new IllegalArgumentException("unknown column: " + where.header);
+	}
+
+	private static boolean[] projection(List<AnnotationStorer> storers, Set<String> selected) {
+		Set<String> unknown = new HashSet<>(selected);
+		boolean[] projection = new boolean[storers.size()];
+		for(int i = 0 ; i < projection.length ; ++i) {
+			projection[i] = unknown.remove(storers.get(i).getHeader());
+		}
+		if(!unknown.isEmpty()) {
+			throw new IllegalArgumentException("unknown columns: " + unknown);
+		}
+		return projection;
+	}
+
+	/**
+	 * @param header the column header
+	 * @return the converter of the column, a {@link io.github.ritonglue.gocsv.convert.DedupStringConverter} for a deduplicated column,
+	 * a {@link io.github.ritonglue.gocsv.convert.CachingConverter} for a cached column
+	 * @throws IllegalArgumentException if the class has no such column
+	 */
+	public Converter<?> getConverter(String header) {
+		for(AnnotationStorer storer : storers) {
+			if(storer.getHeader().equals(header)) return storer.getConverter();
+		}
+		throw new IllegalArgumentException("unknown column: " + header);
 	}
 
 	/**
@@ -108,6 +311,9 @@ public class CSVEngine<T> {
 	 * @return  a newly allocated instance of the class represented by this object.
 	 */
 	protected T newInstance() {
+		if(classBinder != null) {
+			return classBinder.newInstance();
+		}
 		try {
 			return clazz.getDeclaredConstructor().newInstance();
 		} catch (ReflectiveOperationException e) {
@@ -115,229 +321,381 @@ public class CSVEngine<T> {
 		}
 	}
 
-	private void init() {
-		try {
-			initImpl();
-		} catch (ReflectiveOperationException | IntrospectionException e) {
-			throw new RuntimeException(e);
+	@SuppressWarnings("StreamToIterable")
+	private static <E> Iterable<E> iterableOf(Stream<E> stream) {
+		return stream::iterator;
+	}
+
+	/**
+	 * @return the format reading the header from the first record in NAMED mode if it has none
+	 */
+	private CSVFormat withHeader(CSVFormat format) {
+		if(mode == Mode.NAMED) {
+			String[] headers = format.getHeader();
+			if(headers == null) {
+				format = format.builder().setHeader().build();
+			}
 		}
+		return format;
 	}
 
-	private static class Data {
-		private Converter<?> converter;
-		private String header;
-		private int order;
+	public Stream<T> parseAsStream(Reader reader,  CSVFormat format) throws IOException {
+		format = withHeader(format);
+		if(parserType == ParserType.NATIVE) {
+			return parseAsStream(new Tokenizer(reader, format));
+		}
+		return parseAsStream(format.parse(reader));
 	}
 
-	private static boolean isFieldAccess(Class<?> clazz, PropertyDescriptor[] pds) {
-		boolean isFieldAccess = true;
-		if(clazz.isAnnotationPresent(Access.class)) {
-			AccessType accessType = clazz.getAnnotation(Access.class).value();
-			if(accessType == null) accessType = AccessType.FIELD;
-			switch(accessType) {
-			case FIELD:
-				isFieldAccess = true;
-				break;
-			case PROPERTY:
-				isFieldAccess = false;
-				break;
-			}
-		} else {
-			for(PropertyDescriptor pd : pds) {
-				Method getter = pd.getReadMethod();
-				if(getter == null) continue;
-				if(getter.isAnnotationPresent(CSVBinding.class)) {
-					isFieldAccess = false;
-					break;
-				}
-				if(getter.isAnnotationPresent(Convert.class)) {
-					isFieldAccess = false;
-					break;
+	/**
+	 * The stream converts the records on the worker threads when parallel : the records are read in batches
+	 * of growing size, each batch is converted by the thread which splits it.
+	 */
+	public Stream<T> parseAsStream(CSVParser parser) {
+		int[] plan = columnPlan(mode == Mode.NAMED ? parser.getHeaderMap() : null);
+		Iterator<CSVRecord> records = parser.iterator();
+		Spliterator<T> spliterator = new BatchSpliterator<Row, T>() {
+			@Override
+			protected Row read() {
+				while(records.hasNext()) {
+					Row row = accept(records.next(), plan);
+					if(row != null) return row;
 				}
+				return null;
 			}
-		}
-		return isFieldAccess;
+
+			@Override
+			protected T convert(Row row) {
+				return CSVEngine.this.convert(row, plan);
+			}
+		};
+		return StreamSupport.stream(spliterator, false);
 	}
 
-	private Data getData(AccessibleObject o, String name, Class<?> type) throws ReflectiveOperationException {
-		if(o == null) return null;
-		int order = 0;
-		String header = name;
-		String pattern = "";
-		Converter<?> converter = null;
-		if(o.isAnnotationPresent(Transient.class)) {
-			return null;
-		}
-		if(o.isAnnotationPresent(CSVBinding.class)) {
-			CSVBinding binding = o.getAnnotation(CSVBinding.class);
-			order = binding.order();
-			header = binding.header();
-		}
-		if(header == null || header.isEmpty()) {
-			header = name;
-		}
-		if(o.isAnnotationPresent(Convert.class)) {
-			Convert aConvert = o.getAnnotation(Convert.class);
-			Class<?> converterClazz = aConvert.converter();
-			try {
-				converter = (Converter<?>) converterClazz.getDeclaredConstructor().newInstance();
-			} catch(NoSuchMethodException e) {
-				//no default constructor
+	private Stream<T> parseAsStream(Tokenizer tokenizer) {
+		int[] plan = columnPlan(tokenizer);
+		Spliterator<T> spliterator = new BatchSpliterator<Row, T>() {
+			@Override
+			public boolean tryAdvance(Consumer<? super T> action) {
+				//converted in place
+				if(!next(tokenizer, plan)) return false;
+				action.accept(CSVEngine.this.convert(tokenizer, plan));
+				return true;
+			}
+
+			@Override
+			protected Row read() {
+				//copied : the tokenizer row is only valid until the next record
+				return next(tokenizer, plan) ? new ArrayRow(tokenizer.toArray(), tokenizer.getWhereValues()) : null;
 			}
-			pattern = aConvert.pattern();
+
+			@Override
+			protected T convert(Row row) {
+				return CSVEngine.this.convert(row, plan);
+			}
+		};
+		return StreamSupport.stream(spliterator, false);
+	}
+
+	/**
+	 * Parses the records in batches of batchSize records, the last one may be smaller.
+	 * The batch list is reused : it is only valid during the call of the consumer, which copies it to keep it.
+	 * @param reader the input
+	 * @param format the format
+	 * @param batchSize the number of records of a batch
+	 * @param consumer receives each batch
+	 * @throws IOException if the input can't be read
+	 */
+	public void parseInBatches(Reader reader, CSVFormat format, int batchSize, Consumer<? super List<T>> consumer) throws IOException {
+		Objects.requireNonNull(consumer, "consumer null");
+		if(batchSize < 1) {
+			throw new IllegalArgumentException("batchSize < 1: " + batchSize);
 		}
-		if(converter == null) {
-			if(!pattern.isEmpty()) {
-				converter = new DateTimeConverter(pattern, null, type);
+		List<T> batch = new ArrayList<>(batchSize);
+		List<T> view = Collections.unmodifiableList(batch);
+		forEachRow(reader, format, (row, plan) -> {
+			batch.add(convert(row, plan));
+			if(batch.size() == batchSize) {
+				consumer.accept(view);
+				batch.clear();
 			}
+		});
+		if(!batch.isEmpty()) {
+			consumer.accept(view);
+		}
+	}
+
+	/**
+	 * Parses the records by column into batches of batchSize records, without creating the objects.
+	 * The life cycle callbacks are not called. The batch is reused : it is only valid during the call of the consumer.
+	 * @param reader the input
+	 * @param format the format
+	 * @param batchSize the number of records of a batch
+	 * @param consumer receives each batch
+	 * @throws IOException if the input can't be read
+	 * @see ColumnBatch
+	 */
+	public void parseColumns(Reader reader, CSVFormat format, int batchSize, Consumer<? super ColumnBatch> consumer) throws IOException {
+		Objects.requireNonNull(consumer, "consumer null");
+		if(batchSize < 1) {
+			throw new IllegalArgumentException("batchSize < 1: " + batchSize);
 		}
-		if(converter == null) {
-			if(type.isEnum()) {
-				//converter registered ?
-				converter = this.converters.get(type);
-				if(converter == null) {
-					@SuppressWarnings({ "unchecked", "rawtypes" })
-					EnumConverter tmp = new EnumConverter(type);
-					this.converters.put(type, tmp);
+		ColumnBatch batch = new ColumnBatch(storers, batchSize);
+		List<ColumnBatch.Vector> vectors = batch.getVectors();
+		forEachRow(reader, format, (row, plan) -> {
+			int r = batch.add();
+			int size = row.size();
+			for(int i = 0 ; i < storers.size() ; ++i) {
+				int index = plan[i];
+				ColumnBatch.Vector vector = vectors.get(i);
+				if(index < 0) {
+					vector.setObject(r, null);
+				} else if(index >= size) {
+					outOfRangeIndex(storers.get(i));
+					vector.setObject(r, null);
+				} else if(recordHandler != null) {
+					vector.setObject(r, toObject(row, index, storers.get(i)));
+				} else {
+					vector.set(r, row.chars(index), row.start(index), row.end(index));
 				}
 			}
-			//auto-apply
-			converter = this.converters.get(type);
-		}
-		Objects.requireNonNull(converter, "converter null: " + name);
-		Data data = new Data();
-		data.order = order;
-		data.converter = converter;
-		data.header = header;
-		return data;
-	}
-
-	private void initImpl() throws ReflectiveOperationException, IntrospectionException {
-		BeanInfo info = Introspector.getBeanInfo(clazz, Object.class);
-		PropertyDescriptor[] pds = info.getPropertyDescriptors();
-		boolean isFieldAccess = isFieldAccess(clazz, pds);
-
-		if(isFieldAccess) {
-			Field[] fields = clazz.getDeclaredFields();
-			for(Field field : fields) {
-				int modifiers = field.getModifiers();
-				if(Modifier.isStatic(modifiers)) continue;
-				String name = field.getName();
-				Data data = getData(field, name, field.getType());
-				if(data != null) {
-					AnnotationStorer storer = new AnnotationStorer(field, data.converter, data.order, data.header);
-					storers.add(storer);
-				}
+			Object[] whereValues = row.getWhereValues();
+			for(int w = 0 ; w < wheres.length ; ++w) {
+				int i = whereTargets[w];
+				if(i < 0 || plan[storers.size() + w] < 0) continue;
+				if(plan[storers.size() + w] >= size) outOfRangeIndex(storers.get(i));
+				vectors.get(i).setObject(r, whereValues[w]);
 			}
-		} else {
-			for(PropertyDescriptor pd : pds) {
-				String name = pd.getName();
-				Method getter = pd.getReadMethod();
-				if(getter == null) continue;
-				int modifiers = getter.getModifiers();
-				if(Modifier.isStatic(modifiers)) continue;
-				Data data = getData(getter, name, getter.getReturnType());
-				if(data != null) {
-					AnnotationStorer storer = new AnnotationStorer(pd, data.converter, data.order, data.header);
-					storers.add(storer);
-				}
+			if(batch.isFull()) {
+				consumer.accept(batch);
+				batch.clear();
 			}
+		});
+		if(batch.size() > 0) {
+			consumer.accept(batch);
 		}
+	}
 
-		//sort : only for writing
-		Collections.sort(storers, Comparator.comparingInt(AnnotationStorer::getOrder));
+	/**
+	 * Parses the records one by one into the consumer. With {@link Builder#reuseInstance(boolean)}
+	 * the same instance is overwritten for each record of the call : the consumer must not keep it.
+	 * @param reader the input
+	 * @param format the format
+	 * @param consumer receives each record
+	 * @throws IOException if the input can't be read
+	 */
+	public void forEach(Reader reader, CSVFormat format, Consumer<? super T> consumer) throws IOException {
+		Objects.requireNonNull(consumer, "consumer null");
+		if(!reuseInstance) {
+			forEachRow(reader, format, (row, plan) -> consumer.accept(convert(row, plan)));
+			return;
+		}
+		T t = newInstance();
+		Consumer<? super T> postMethod = callbacks.get(CallbackEnum.POST_LOAD);
+		forEachRow(reader, format, (row, plan) -> {
+			fill(t, row, plan, true);
+			if(postMethod != null) {
+				postMethod.accept(t);
+			}
+			consumer.accept(t);
+		});
+	}
 
-		//check duplicate
-		Map<String, AnnotationStorer> mapHeader = new HashMap<>();
-		Map<Integer, AnnotationStorer> mapOrder = new HashMap<>();
-		for(AnnotationStorer storer : storers) {
-			String header = storer.getHeader();
-			int order = storer.getOrder();
-			Object o = null;
-			switch(mode) {
-			case NAMED:
-				Objects.requireNonNull(header, "header null");
-				break;
-			case ORDER:
-				o = mapOrder.put(order, storer);
-				if(o != null) {
-					throw new IllegalArgumentException("duplicate order: " + order);
-				}
-				break;
+	/**
+	 * Receives a parsed record
+	 */
+	private interface RowConsumer {
+		void accept(Row row, int[] plan);
+	}
+
+	/**
+	 * Reads the records with the engine parser, the filtered records are skipped
+	 */
+	private void forEachRow(Reader reader, CSVFormat format, RowConsumer consumer) throws IOException {
+		format = withHeader(format);
+		if(parserType == ParserType.NATIVE) {
+			Tokenizer tokenizer = new Tokenizer(reader, format);
+			int[] plan = columnPlan(tokenizer);
+			while(next(tokenizer, plan)) {
+				consumer.accept(tokenizer, plan);
 			}
-			if(header != null) {
-				o = mapHeader.put(header, storer);
-				if(o != null) {
-					throw new IllegalArgumentException("duplicate header: " + header);
-				}
+		} else {
+			CSVParser parser = format.parse(reader);
+			int[] plan = columnPlan(mode == Mode.NAMED ? parser.getHeaderMap() : null);
+			for(CSVRecord record : parser) {
+				Row row = accept(record, plan);
+				if(row != null) consumer.accept(row, plan);
 			}
 		}
-		readLifeCycle();
 	}
 
-	private void readLifeCycle() {
-		Method[] methods = clazz.getDeclaredMethods();
-		for(Method method : methods) {
-			addLifeCycle(CallbackEnum.POST_LOAD, method, "postLoad");
-			addLifeCycle(CallbackEnum.POST_PERSIST, method, "postPersist");
-			addLifeCycle(CallbackEnum.PRE_PERSIST, method, "prePersist");
+	/**
+	 * Parses in a pipeline : a thread reads the records and a pool of workers converts them,
+	 * for the inputs which can't be mapped like pipes or decompression streams.
+	 * The records are converted in batches and come in input order.
+	 * The stream must be closed to stop the threads if it isn't fully consumed, the reader isn't closed.
+	 * @param reader the input
+	 * @param format the format
+	 * @param workers the number of conversion threads
+	 * @return the stream of the converted records
+	 * @throws IOException if the header can't be read
+	 */
+	public Stream<T> parsePipelined(Reader reader, CSVFormat format, int workers) throws IOException {
+		if(workers < 1) {
+			throw new IllegalArgumentException("workers < 1: " + workers);
 		}
-	}
-
-	private void addLifeCycle(CallbackEnum callback, Method method, String text) {
-		if(callback.hasAnnotation(method)) {
-			method.setAccessible(true);
-			var o = this.callbacks.put(callback, new Callback(method));
-			if(o != null) {
-				throw new IllegalStateException("multiple "+ text + " annotation");
-			}
+		format = withHeader(format);
+		Supplier<Row> rows;
+		int[] plan;
+		if(parserType == ParserType.NATIVE) {
+			Tokenizer tokenizer = new Tokenizer(reader, format);
+			plan = columnPlan(tokenizer);
+			//copied : the tokenizer row is only valid until the next record
+			rows = () -> next(tokenizer, plan) ? new ArrayRow(tokenizer.toArray(), tokenizer.getWhereValues()) : null;
+		} else {
+			CSVParser parser = format.parse(reader);
+			plan = columnPlan(mode == Mode.NAMED ? parser.getHeaderMap() : null);
+			Iterator<CSVRecord> records = parser.iterator();
+			rows = () -> {
+				while(records.hasNext()) {
+					Row row = accept(records.next(), plan);
+					if(row != null) return row;
+				}
+				return null;
+			};
 		}
+		Pipeline<T> pipeline = new Pipeline<>(rows, row -> convert(row, plan), workers);
+		Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(pipeline, Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false).onClose(pipeline::close);
 	}
 
 	/**
-	 * lifeCycle method consumer
+	 * Parses an UTF-8 file in parallel, keeping the file order.
+	 * @see #parseFile(Path, CSVFormat, int, boolean)
 	 */
-	private static class Callback implements Consumer<Object> {
-		private final Method method;
+	public Stream<T> parseFile(Path path, CSVFormat format, int parallelism) throws IOException {
+		return parseFile(path, format, parallelism, true);
+	}
 
-		private Callback(Method method) {
-			this.method = method;
+	/**
+	 * Parses an UTF-8 file in parallel. The file is memory mapped and cut into chunks at record boundaries,
+	 * each chunk is parsed and converted on a pool of parallelism threads.
+	 * <p>
+	 * The chunks are found by counting the quotes and checked to end outside a quoted value : the file is read sequentially
+	 * if a quote inside an unquoted value moves a chunk boundary, with parallelism 1, or if the format has an escape character,
+	 * a comment marker or a non ASCII delimiter.
+	 * The record filter is not supported. The stream must be closed to release the file and the threads
+	 * if it isn't fully consumed.
+	 * @param path the UTF-8 file
+	 * @param format the format
+	 * @param parallelism the number of threads
+	 * @param ordered true to get the records in file order, false in chunk completion order
+	 * @return the stream of the converted records
+	 * @throws IOException if the file can't be opened
+	 * @throws IllegalStateException if the engine has a record filter
+	 */
+	public Stream<T> parseFile(Path path, CSVFormat format, int parallelism, boolean ordered) throws IOException {
+		Objects.requireNonNull(path, "path null");
+		if(filtered) {
+			throw new IllegalStateException("filter not supported by parseFile");
 		}
-
-		@Override
-		public void accept(Object t) {
-			try {
-				method.invoke(t);
-			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-				throw new RuntimeException(e);
-			}
+		if(parallelism < 1) {
+			throw new IllegalArgumentException("parallelism < 1: " + parallelism);
+		}
+		format = withHeader(format);
+		if(parallelism == 1 || !FileParser.isSplittable(format)) {
+			return parseSequential(path, format);
 		}
+		return FileParser.parse(this, path, format, parallelism, ordered);
 	}
 
-	private static <E> Stream<E> streamOf(Iterable<E> iterable) {
-		return StreamSupport.stream(iterable.spliterator(), false);
+	/**
+	 * Parses an UTF-8 file with the native tokenizer on the calling thread
+	 * @param format the format, with its header
+	 */
+	Stream<T> parseSequential(Path path, CSVFormat format) throws IOException {
+		Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+		try {
+			return parseAsStream(new Tokenizer(reader, format)).onClose(() -> {
+				try {
+					reader.close();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch(RuntimeException e) {
+			reader.close();
+			throw e;
+		}
 	}
-	@SuppressWarnings("StreamToIterable")
-	private static <E> Iterable<E> iterableOf(Stream<E> stream) {
-		return stream::iterator;
+
+	/**
+	 * Parses UTF-8 files concurrently, one task per file, at most one task per available processor at a time.
+	 * @see #parseAll(Collection, CSVFormat, int, Consumer)
+	 */
+	public void parseAll(Collection<Path> paths, CSVFormat format, Consumer<? super FileResult<T>> consumer) throws InterruptedException {
+		parseAll(paths, format, Runtime.getRuntime().availableProcessors(), consumer);
 	}
 
-	public Stream<T> parseAsStream(Reader reader,  CSVFormat format) throws IOException {
-		if(mode == Mode.NAMED) {
-			String[] headers = format.getHeader();
-			if(headers == null) {
-				format = format.builder().setHeader().build();
+	/**
+	 * Parses UTF-8 files concurrently, one task per file : on virtual threads when the runtime has them,
+	 * on a pool of concurrency threads otherwise. The failure of a file doesn't stop the others,
+	 * it is reported by its result. The consumer is called from the file tasks, concurrently.
+	 * @param paths the files
+	 * @param format the format
+	 * @param concurrency the maximum number of files parsed at a time
+	 * @param consumer receives the result of each file
+	 * @throws InterruptedException if interrupted while waiting for the tasks
+	 * @throws RuntimeException wrapping the first exception thrown by the consumer
+	 */
+	public void parseAll(Collection<Path> paths, CSVFormat format, int concurrency, Consumer<? super FileResult<T>> consumer) throws InterruptedException {
+		Objects.requireNonNull(paths, "paths null");
+		Objects.requireNonNull(consumer, "consumer null");
+		if(concurrency < 1) {
+			throw new IllegalArgumentException("concurrency < 1: " + concurrency);
+		}
+		Semaphore permits = new Semaphore(concurrency);
+		AtomicReference<RuntimeException> consumerError = new AtomicReference<>();
+		ExecutorService executor = newFileExecutor(concurrency);
+		try {
+			for(Path path : paths) {
+				permits.acquire();
+				executor.execute(() -> {
+					try {
+						FileResult<T> result;
+						try(Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+							result = FileResult.success(path, parseAsStream(reader, format).collect(Collectors.toList()));
+						} catch(Exception e) {
+							result = FileResult.failure(path, e);
+						}
+						consumer.accept(result);
+					} catch(RuntimeException e) {
+						consumerError.compareAndSet(null, e);
+					} finally {
+						permits.release();
+					}
+				});
 			}
+		} finally {
+			executor.shutdown();
+		}
+		executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		RuntimeException e = consumerError.get();
+		if(e != null) {
+			throw new RuntimeException(e);
 		}
-		return parseAsStream(format.parse(reader));
 	}
 
-	public Stream<T> parseAsStream(CSVParser parser) {
-		Function<AnnotationStorer, Integer> getterIndex = getterIndex(parser);
-		return streamOf(parser)
-				.filter(this.predicate)
-				.filter(Objects::nonNull)
-				.map(o -> convert(o, getterIndex));
+	/**
+	 * @return a virtual thread per task executor if the runtime has one (Java 21), a fixed thread pool otherwise
+	 */
+	private static ExecutorService newFileExecutor(int concurrency) {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newFixedThreadPool(concurrency);
+		}
 	}
 
 	public Iterable<T> parse(Reader reader,  CSVFormat format) throws IOException {
@@ -348,43 +706,116 @@ public class CSVEngine<T> {
 		return iterableOf(parseAsStream(parser));
 	}
 
-	private Function<AnnotationStorer, Integer> getterIndex(CSVParser parser) {
-		//index headers
-		Function<AnnotationStorer, Integer> getterIndex = null;
-		switch(mode) {
-		case NAMED:
-			Map<String, Integer> headerMap = parser.getHeaderMap();
-			getterIndex = o -> {
-				String header = o.getHeader();
-				return headerMap.get(header);
-			};
-			break;
-		case ORDER:
-			getterIndex = AnnotationStorer::getOrder;
-			break;
-		}
-		return getterIndex;
-	}
-
-	private T convert(CSVRecord record, Function<AnnotationStorer,Integer> getterIndex) {
-		if(record == null) {
-			return null;
+	/**
+	 * Resolves the column index of each storer once per parser.
+	 * The missing headers are reported once.
+	 * @param headerMap the header indexes, used in NAMED mode
+	 * @return the column indexes in storers order, -1 if missing
+	 */
+	int[] columnPlan(Map<String, Integer> headerMap) {
+		int n = storers.size();
+		int[] plan = new int[n + wheres.length];
+		for(int w = 0 ; w < wheres.length ; ++w) {
+			AnnotationStorer storer = whereStorers[w];
+			Integer index = mode == Mode.NAMED ? (headerMap == null ? null : headerMap.get(storer.getHeader())) : Integer.valueOf(storer.getOrder());
+			plan[n + w] = index == null ? -1 : index;
 		}
-		T t = newInstance();
-		for(AnnotationStorer storer : storers) {
-			Integer index = getterIndex.apply(storer);
+		for(int i = 0 ; i < n ; ++i) {
+			if(projection != null && !projection[i]) {
+				plan[i] = -1;
+				continue;
+			}
+			AnnotationStorer storer = storers.get(i);
+			Integer index = null;
+			switch(mode) {
+			case NAMED:
+				index = headerMap == null ? null : headerMap.get(storer.getHeader());
+				break;
+			case ORDER:
+				index = storer.getOrder();
+				break;
+			}
 			if(index == null) {
 				missingIndex(storer);
+				plan[i] = -1;
 			} else {
-				int i = index;
-				if(record.isSet(i)) {
-					String value = record.get(i);
-					setValue(t, value, storer);
-				} else {
-					outOfRangeIndex(storer);
-				}
+				plan[i] = index;
 			}
 		}
+		//set with the value converted by the condition
+		for(int i : whereTargets) {
+			if(i >= 0) plan[i] = -1;
+		}
+		return plan;
+	}
+
+	/**
+	 * Reads the next record of the tokenizer matching the column conditions
+	 * @return false at the end of the input
+	 */
+	boolean next(Tokenizer tokenizer, int[] plan) {
+		while(tokenizer.next()) {
+			if(accept(tokenizer, plan)) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return the row of the record if it matches the record filter and the column conditions, null otherwise
+	 */
+	private Row accept(CSVRecord record, int[] plan) {
+		if(record == null || !predicate.test(record)) return null;
+		Row row = new RecordRow(record);
+		return wheres.length == 0 || accept(row, plan) ? row : null;
+	}
+
+	/**
+	 * Converts the columns of the conditions, the values are kept in the row for the conversion of the record
+	 * @return true if the record matches the column conditions
+	 */
+	private boolean accept(Row row, int[] plan) {
+		int n = storers.size();
+		Object[] values = new Object[wheres.length];
+		for(int w = 0 ; w < wheres.length ; ++w) {
+			int index = plan[n + w];
+			Object value = index >= 0 && row.isSet(index) ? toObject(row, index, whereStorers[w]) : null;
+			if(!wheres[w].test(value)) return false;
+			values[w] = value;
+		}
+		row.setWhereValues(values);
+		return true;
+	}
+
+	/**
+	 * Resolves the column plan of the tokenizer and stops its records after the last column of the plan
+	 */
+	private int[] columnPlan(Tokenizer tokenizer) {
+		int[] plan = columnPlan(tokenizer.getHeaderMap());
+		tokenizer.setColumnLimit(columnLimit(plan));
+		return plan;
+	}
+
+	/**
+	 * @return the number of values read by the plan
+	 */
+	static int columnLimit(int[] plan) {
+		int max = -1;
+		for(int index : plan) max = Math.max(max, index);
+		return max + 1;
+	}
+
+	T convert(Row row, int[] plan) {
+		T t;
+		if(constructorBinder != null) {
+			t = construct(row, plan);
+		} else if(binder != null) {
+			t = newInstance();
+			binder.read(t, row, plan);
+			setWhereValues(t, row, plan, false);
+		} else {
+			t = newInstance();
+			fill(t, row, plan, false);
+		}
 		Consumer<? super T> postMethod = this.callbacks.get(CallbackEnum.POST_LOAD);
 		if(postMethod != null) {
 			postMethod.accept(t);
@@ -392,6 +823,73 @@ public class CSVEngine<T> {
 		return t;
 	}
 
+	/**
+	 * Sets the columns of the record
+	 * @param reset true to reset the fields of the absent or empty values of a reused instance
+	 */
+	private void fill(T t, Row row, int[] plan, boolean reset) {
+		int size = row.size();
+		for(int i = 0 ; i < storers.size() ; ++i) {
+			int index = plan[i];
+			if(index < 0) continue;
+			AnnotationStorer storer = storers.get(i);
+			if(index >= size) {
+				outOfRangeIndex(storer);
+				if(reset) storer.reset(t);
+			} else {
+				setValue(t, row, index, storer);
+			}
+		}
+		setWhereValues(t, row, plan, reset);
+	}
+
+	/**
+	 * Sets the columns with the values converted by the column conditions, as {@link #fill(Object, Row, int[], boolean)} does
+	 */
+	private void setWhereValues(T t, Row row, int[] plan, boolean reset) {
+		Object[] values = row.getWhereValues();
+		for(int w = 0 ; w < wheres.length ; ++w) {
+			int i = whereTargets[w];
+			int index = plan[storers.size() + w];
+			if(i < 0 || index < 0) continue;
+			AnnotationStorer storer = storers.get(i);
+			Object value = values[w];
+			if(index >= row.size()) {
+				outOfRangeIndex(storer);
+				if(reset) storer.reset(t);
+			} else {
+				storer.setValue(t, value);
+			}
+		}
+	}
+
+	private T construct(Row row, int[] plan) {
+		Object[] arguments = constructorBinder.arguments();
+		int size = row.size();
+		for(int i = 0 ; i < storers.size() ; ++i) {
+			int index = plan[i];
+			if(index < 0) continue;
+			AnnotationStorer storer = storers.get(i);
+			if(index < size) {
+				constructorBinder.setArgument(arguments, i, toObject(row, index, storer));
+			} else {
+				outOfRangeIndex(storer);
+			}
+		}
+		Object[] values = row.getWhereValues();
+		for(int w = 0 ; w < wheres.length ; ++w) {
+			int i = whereTargets[w];
+			int index = plan[storers.size() + w];
+			if(i < 0 || index < 0) continue;
+			if(index < size) {
+				constructorBinder.setArgument(arguments, i, values[w]);
+			} else {
+				outOfRangeIndex(storers.get(i));
+			}
+		}
+		return clazz.cast(constructorBinder.newInstance(arguments));
+	}
+
 	private void missingIndex(AnnotationStorer storer) {
 		if(callback != null) callback.missingIndex(storer);
 	}
@@ -400,26 +898,20 @@ public class CSVEngine<T> {
 		if(callback != null) callback.outOfRangeIndex(storer);
 	}
 
-	private void setValue(T t, String value, AnnotationStorer storer) {
-		Converter<?> converter = storer.getConverter();
-		Object object = converter.getAsObject(value);
+	private Object toObject(Row row, int index, AnnotationStorer storer) {
+		Object object = storer.toObject(row.chars(index), row.start(index), row.end(index));
 		if(recordHandler != null) {
-			object = recordHandler.accept(value, object, storer);
+			object = recordHandler.accept(row.get(index), object, storer);
 		}
-		try {
-			Field field = storer.getField();
-			Method setter = storer.getSetter();
-			if(field != null) {
-				field.setAccessible(true);
-				field.set(t, object);
-			} else if(setter != null) {
-				setter.setAccessible(true);
-				setter.invoke(t, object);
-			} else {
-				throw new AssertionError("no field, no setter");
-			}
-		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-			throw new RuntimeException(e);
+		return object;
+	}
+
+	private void setValue(T t, Row row, int index, AnnotationStorer storer) {
+		if(recordHandler == null && storer.hasValueReader()) {
+			//primitive : no boxing
+			storer.readValue(t, row.chars(index), row.start(index), row.end(index));
+		} else {
+			storer.setValue(t, toObject(row, index, storer));
 		}
 	}
 
@@ -428,28 +920,29 @@ public class CSVEngine<T> {
 			Consumer<? super T> postPersist = callbacks.get(CallbackEnum.POST_PERSIST);
 			Consumer<? super T> prePersist = callbacks.get(CallbackEnum.PRE_PERSIST);
 			for(T t : list) {
-				List<String> values = new ArrayList<>();
-
 				if(prePersist != null) {
 					prePersist.accept(t);
 				}
 
-				for(AnnotationStorer a : storers) {
-					Field field = a.getField();
-					Method getter = a.getGetter();
-					@SuppressWarnings("rawtypes")
-					Converter converter = a.getConverter();
-					Object value = null;
-					if(field != null) {
-						field.setAccessible(true);
-						value = field.get(t);
-					} else if(getter != null) {
-						getter.setAccessible(true);
-						value = getter.invoke(t);
+				List<String> values;
+				if(binder != null) {
+					String[] array = new String[storers.size()];
+					binder.write(t, array);
+					values = Arrays.asList(array);
+				} else {
+					values = new ArrayList<>();
+					for(AnnotationStorer a : storers) {
+						if(a.hasValueWriter()) {
+							values.add(a.writeValue(t));
+							continue;
+						}
+						@SuppressWarnings("rawtypes")
+						Converter converter = a.getConverter();
+						Object value = a.getValue(t);
+						@SuppressWarnings("unchecked")
+						String s = converter.getAsString(value);
+						values.add(s);
 					}
-					@SuppressWarnings("unchecked")
-					String s = converter.getAsString(value);
-					values.add(s);
 				}
 
 				printer.printRecord(values);
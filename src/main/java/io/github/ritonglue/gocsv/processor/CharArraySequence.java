@@ -0,0 +1,37 @@
+package io.github.ritonglue.gocsv.processor;
+
+/**
+ * Mutable {@link CharSequence} view of the first length characters of an array, without copy
+ */
+final class CharArraySequence implements CharSequence {
+	private char[] array;
+	private int length;
+
+	void set(char[] array, int length) {
+		this.array = array;
+		this.length = length;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if(index >= length) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		return array[index];
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return new String(array, start, end - start);
+	}
+
+	@Override
+	public String toString() {
+		return new String(array, 0, length);
+	}
+}
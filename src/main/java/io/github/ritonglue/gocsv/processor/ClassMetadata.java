@@ -0,0 +1,499 @@
+package io.github.ritonglue.gocsv.processor;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import io.github.ritonglue.gocsv.annotation.Access;
+import io.github.ritonglue.gocsv.annotation.AccessType;
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+import io.github.ritonglue.gocsv.annotation.Convert;
+import io.github.ritonglue.gocsv.annotation.Transient;
+import io.github.ritonglue.gocsv.convert.CachingConverter;
+import io.github.ritonglue.gocsv.convert.Converter;
+import io.github.ritonglue.gocsv.convert.DateTimeConverter;
+import io.github.ritonglue.gocsv.convert.DedupStringConverter;
+import io.github.ritonglue.gocsv.convert.DefaultConverters;
+import io.github.ritonglue.gocsv.convert.EnumConverter;
+import io.github.ritonglue.gocsv.convert.ScaledLongConverter;
+import io.github.ritonglue.gocsv.convert.StringConverter;
+
+/**
+ * Class level metadata : the bound columns sorted by order, the duplicate checks, the life cycle methods
+ * and the binders. It depends neither on the mode nor on the registered converters :
+ * it is computed once per class and shared by all the engines.
+ */
+final class ClassMetadata {
+	private static final MethodType CALLBACK_TYPE = MethodType.methodType(void.class, Object.class);
+	/** maximum number of converter classes sets whose storers are kept */
+	private static final int MAX_STORERS = 16;
+
+	private static final ClassValue<ClassMetadata> CACHE = new ClassValue<ClassMetadata>() {
+		@Override
+		protected ClassMetadata computeValue(Class<?> type) {
+			MetadataCache.miss();
+			try {
+				return new ClassMetadata(type);
+			} catch (ReflectiveOperationException | IntrospectionException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	};
+
+	private final List<Column> columns = new ArrayList<>();
+	private final Map<CallbackEnum, Consumer<Object>> callbacks = new EnumMap<>(CallbackEnum.class);
+	private final Binder<?> binder;
+	private final ConstructorBinder constructorBinder;
+	private final Integer duplicateOrder;
+	private final String duplicateHeader;
+	/** resolved storers, without dictionary nor cache, by converter classes */
+	private final Map<Map<Class<?>, Class<?>>, List<AnnotationStorer>> storers = new ConcurrentHashMap<>();
+
+	/**
+	 * @param clazz the class
+	 * @return the shared metadata of the class
+	 */
+	static ClassMetadata of(Class<?> clazz) {
+		MetadataCache.lookup();
+		return CACHE.get(clazz);
+	}
+
+	/**
+	 * A bound field or property, without converter
+	 */
+	static final class Column {
+		private final String name;
+		private final String header;
+		private final int order;
+		private final Class<?> type;
+		private final Supplier<? extends Converter<?>> converter;
+		private final String pattern;
+		private final Field field;
+		private final Method getter;
+		private final Method setter;
+		private final MethodHandle getterHandle;
+		private final MethodHandle setterHandle;
+		private final boolean dedup;
+		private final int cacheSize;
+		private final int scale;
+
+		private Column(String name, String header, int order, Class<?> type, Supplier<? extends Converter<?>> converter, String pattern
+				, Field field, Method getter, Method setter, MethodHandle getterHandle, MethodHandle setterHandle, boolean dedup, int cacheSize, int scale) {
+			this.name = name;
+			this.header = header == null || header.isEmpty() ? name : header;
+			this.order = order;
+			this.type = type;
+			this.converter = converter;
+			this.pattern = pattern;
+			this.field = field;
+			this.getter = getter;
+			this.setter = setter;
+			this.getterHandle = getterHandle;
+			this.setterHandle = setterHandle;
+			this.dedup = dedup;
+			this.cacheSize = cacheSize;
+			this.scale = scale;
+		}
+
+		String getName() {
+			return name;
+		}
+
+		String getPattern() {
+			return pattern;
+		}
+
+		Class<?> getType() {
+			return type;
+		}
+
+		/**
+		 * @return a new instance of the declared converter, null if none
+		 */
+		Converter<?> newConverter() {
+			return converter == null ? null : converter.get();
+		}
+
+		AnnotationStorer storer(Converter<?> converter) {
+			return new AnnotationStorer(type, field, getter, setter, getterHandle, setterHandle, converter, order, header);
+		}
+	}
+
+	private ClassMetadata(Class<?> clazz) throws ReflectiveOperationException, IntrospectionException {
+		this.binder = findBinder(clazz);
+		if(binder != null) {
+			initBinder(binder);
+		} else {
+			initReflect(clazz);
+		}
+
+		//sort : only for writing
+		Collections.sort(columns, Comparator.comparingInt(o -> o.order));
+
+		//check duplicate
+		Integer duplicateOrder = null;
+		String duplicateHeader = null;
+		Set<String> headers = new HashSet<>();
+		Set<Integer> orders = new HashSet<>();
+		for(Column column : columns) {
+			if(!orders.add(column.order) && duplicateOrder == null) {
+				duplicateOrder = column.order;
+			}
+			if(!headers.add(column.header) && duplicateHeader == null) {
+				duplicateHeader = column.header;
+			}
+		}
+		this.duplicateOrder = duplicateOrder;
+		this.duplicateHeader = duplicateHeader;
+
+		if(binder == null) {
+			List<Field> fields = new ArrayList<>();
+			for(Column column : columns) fields.add(column.field);
+			this.constructorBinder = ConstructorBinder.create(clazz, fields);
+		} else {
+			this.constructorBinder = null;
+		}
+	}
+
+	/**
+	 * Checks the duplicate orders and headers
+	 * @param mode the mode
+	 * @throws IllegalArgumentException if duplicate
+	 */
+	void validate(Mode mode) {
+		if(mode == Mode.ORDER && duplicateOrder != null) {
+			throw new IllegalArgumentException("duplicate order: " + duplicateOrder);
+		}
+		if(duplicateHeader != null) {
+			throw new IllegalArgumentException("duplicate header: " + duplicateHeader);
+		}
+	}
+
+	/**
+	 * Resolves the converter of each column. The storers are kept by converter classes :
+	 * the engines registering the same converter classes share them. The storers of the engines
+	 * registering converter instances are not kept.
+	 * The converters declared by {@code @Convert(converter = ...)} are instantiated for each call,
+	 * so that an engine doesn't share them with the other ones.
+	 * The deduplicated or cached columns get a new dictionary or cache for each call.
+	 * @param overrides the registered converters
+	 * @param overrideClasses the classes of the registered converters by type, null if registered as instances
+	 * @param dedup true to deduplicate all the String columns
+	 * @param cacheSizes the cache size by header, replacing the declared one
+	 * @return the unmodifiable storers sorted by order
+	 */
+	List<AnnotationStorer> getStorers(Map<Class<?>, Converter<?>> overrides, Map<Class<?>, Class<?>> overrideClasses
+			, boolean dedup, Map<String, Integer> cacheSizes) {
+		List<AnnotationStorer> list = overrideClasses == null ? null : storers.get(overrideClasses);
+		boolean shared = list != null;
+		if(list == null) {
+			list = resolveStorers(overrides);
+			if(overrideClasses != null && storers.size() < MAX_STORERS) {
+				List<AnnotationStorer> o = storers.putIfAbsent(new HashMap<>(overrideClasses), list);
+				if(o != null) list = o;
+				shared = true;
+			}
+		}
+		return wrap(list, shared, dedup, cacheSizes);
+	}
+
+	List<AnnotationStorer> getStorers(Map<Class<?>, Converter<?>> overrides) {
+		return getStorers(overrides, null, false, Collections.emptyMap());
+	}
+
+	private List<AnnotationStorer> resolveStorers(Map<Class<?>, Converter<?>> overrides) {
+		List<AnnotationStorer> list = new ArrayList<>(columns.size());
+		for(Column column : columns) {
+			Converter<?> converter = resolveConverter(column.newConverter(), column.pattern, column.scale, column.name, column.type, overrides);
+			list.add(column.storer(converter));
+		}
+		return Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * Replaces the storers of the deduplicated or cached columns, and of the declared converters
+	 * if the storers are shared : these converters are not shared
+	 */
+	private List<AnnotationStorer> wrap(List<AnnotationStorer> resolved, boolean shared, boolean dedup, Map<String, Integer> cacheSizes) {
+		List<AnnotationStorer> list = null;
+		for(int i = 0 ; i < columns.size() ; ++i) {
+			Column column = columns.get(i);
+			Converter<?> converter = shared ? column.newConverter() : null;
+			boolean wrapped = converter != null;
+			if(converter == null) converter = resolved.get(i).getConverter();
+			if((dedup || column.dedup) && converter.getClass() == StringConverter.class) {
+				converter = new DedupStringConverter();
+				wrapped = true;
+			}
+			int cacheSize = cacheSizes.getOrDefault(column.header, column.cacheSize);
+			if(cacheSize > 0) {
+				@SuppressWarnings({ "unchecked", "rawtypes" })
+				Converter<?> tmp = new CachingConverter(converter, cacheSize);
+				converter = tmp;
+				wrapped = true;
+			}
+			if(wrapped) {
+				if(list == null) list = new ArrayList<>(resolved);
+				list.set(i, column.storer(converter));
+			}
+		}
+		return list == null ? resolved : Collections.unmodifiableList(list);
+	}
+
+	private static Converter<?> resolveConverter(Converter<?> converter, String pattern, int scale, String name, Class<?> type
+			, Map<Class<?>, Converter<?>> overrides) {
+		if(converter == null) {
+			if(!pattern.isEmpty()) {
+				converter = new DateTimeConverter(pattern, null, type);
+			} else if(scale >= 0) {
+				if(type != long.class && type != Long.class) {
+					throw new IllegalArgumentException("scale needs a long column: " + name);
+				}
+				converter = new ScaledLongConverter(scale);
+			}
+		}
+		if(converter == null) {
+			//auto-apply
+			converter = overrides.get(type);
+			if(converter == null) {
+				converter = DefaultConverters.getConverters().get(type);
+			}
+			if(converter == null && type.isEnum()) {
+				@SuppressWarnings({ "unchecked", "rawtypes" })
+				EnumConverter tmp = new EnumConverter(type);
+				converter = tmp;
+			}
+		}
+		return Objects.requireNonNull(converter, "converter null: " + name);
+	}
+
+	List<Column> getColumns() {
+		return columns;
+	}
+
+	Map<CallbackEnum, Consumer<Object>> getCallbacks() {
+		return callbacks;
+	}
+
+	Binder<?> getBinder() {
+		return binder;
+	}
+
+	ConstructorBinder getConstructorBinder() {
+		return constructorBinder;
+	}
+
+	/**
+	 * Looks for the binder generated at compile time
+	 * @return the binder or null if none
+	 */
+	private static Binder<?> findBinder(Class<?> clazz) {
+		String name = clazz.getName().replace('$', '_') + Binder.SUFFIX;
+		try {
+			Class<?> binderClazz = Class.forName(name, true, clazz.getClassLoader());
+			Binder<?> binder = (Binder<?>) binderClazz.getDeclaredConstructor().newInstance();
+			return binder.type() == clazz ? binder : null;
+		} catch (ReflectiveOperationException | LinkageError e) {
+			return null;
+		}
+	}
+
+	private <T> void initBinder(Binder<T> binder) {
+		for(Binder.Column<T> column : binder.columns()) {
+			columns.add(new Column(column.getName(), column.getHeader(), column.getOrder(), column.getType()
+				, column.getConverter(), column.getPattern()
+				, null, null, null, AnnotationStorer.getterHandle(column), AnnotationStorer.setterHandle(column), column.isDedup()
+				, column.getCacheSize(), column.getScale()));
+		}
+		for(CallbackEnum callback : CallbackEnum.values()) {
+			Consumer<? super T> consumer = binder.callback(callback);
+			if(consumer != null) {
+				this.callbacks.put(callback, new Callback(Callback.ACCEPT.bindTo(consumer)));
+			}
+		}
+	}
+
+	private static boolean isFieldAccess(Class<?> clazz, PropertyDescriptor[] pds) {
+		boolean isFieldAccess = true;
+		if(clazz.isAnnotationPresent(Access.class)) {
+			AccessType accessType = clazz.getAnnotation(Access.class).value();
+			if(accessType == null) accessType = AccessType.FIELD;
+			switch(accessType) {
+			case FIELD:
+				isFieldAccess = true;
+				break;
+			case PROPERTY:
+				isFieldAccess = false;
+				break;
+			}
+		} else {
+			for(PropertyDescriptor pd : pds) {
+				Method getter = pd.getReadMethod();
+				if(getter == null) continue;
+				if(getter.isAnnotationPresent(CSVBinding.class)) {
+					isFieldAccess = false;
+					break;
+				}
+				if(getter.isAnnotationPresent(Convert.class)) {
+					isFieldAccess = false;
+					break;
+				}
+			}
+		}
+		return isFieldAccess;
+	}
+
+	private void initReflect(Class<?> clazz) throws ReflectiveOperationException, IntrospectionException {
+		BeanInfo info = Introspector.getBeanInfo(clazz, Object.class);
+		PropertyDescriptor[] pds = info.getPropertyDescriptors();
+		boolean isFieldAccess = isFieldAccess(clazz, pds);
+
+		if(isFieldAccess) {
+			Field[] fields = clazz.getDeclaredFields();
+			for(Field field : fields) {
+				int modifiers = field.getModifiers();
+				if(Modifier.isStatic(modifiers)) continue;
+				if(field.isAnnotationPresent(Transient.class)) continue;
+				columns.add(column(field, field.getName(), field.getType(), field, null, null
+					, AnnotationStorer.getterHandle(field), AnnotationStorer.setterHandle(field)));
+			}
+		} else {
+			for(PropertyDescriptor pd : pds) {
+				String name = pd.getName();
+				Method getter = pd.getReadMethod();
+				if(getter == null) continue;
+				int modifiers = getter.getModifiers();
+				if(Modifier.isStatic(modifiers)) continue;
+				if(getter.isAnnotationPresent(Transient.class)) continue;
+				Method setter = pd.getWriteMethod();
+				columns.add(column(getter, name, getter.getReturnType(), null, getter, setter
+					, AnnotationStorer.getterHandle(getter), setter == null ? null : AnnotationStorer.setterHandle(setter)));
+			}
+		}
+
+		readLifeCycle(clazz);
+	}
+
+	private static Column column(AccessibleObject o, String name, Class<?> type, Field field, Method getter, Method setter
+			, MethodHandle getterHandle, MethodHandle setterHandle) throws ReflectiveOperationException {
+		int order = 0;
+		String header = name;
+		String pattern = "";
+		Supplier<? extends Converter<?>> converter = null;
+		boolean dedup = false;
+		int cacheSize = 0;
+		int scale = -1;
+		if(o.isAnnotationPresent(CSVBinding.class)) {
+			CSVBinding binding = o.getAnnotation(CSVBinding.class);
+			order = binding.order();
+			header = binding.header();
+			dedup = binding.dedup();
+		}
+		if(o.isAnnotationPresent(Convert.class)) {
+			Convert aConvert = o.getAnnotation(Convert.class);
+			converter = converterSupplier(aConvert.converter());
+			pattern = aConvert.pattern();
+			cacheSize = aConvert.cacheSize();
+			scale = aConvert.scale();
+		}
+		return new Column(name, header, order, type, converter, pattern, field, getter, setter, getterHandle, setterHandle, dedup, cacheSize
+			, scale);
+	}
+
+	/**
+	 * @return the supplier of the declared converter, null if no default constructor
+	 */
+	private static Supplier<? extends Converter<?>> converterSupplier(Class<?> converterClazz) throws ReflectiveOperationException {
+		Constructor<?> constructor;
+		try {
+			constructor = converterClazz.getDeclaredConstructor();
+		} catch(NoSuchMethodException e) {
+			//no default constructor
+			return null;
+		}
+		//fails now if not accessible
+		constructor.newInstance();
+		return () -> {
+			try {
+				return (Converter<?>) constructor.newInstance();
+			} catch (ReflectiveOperationException e) {
+				throw new RuntimeException(e);
+			}
+		};
+	}
+
+	private void readLifeCycle(Class<?> clazz) throws IllegalAccessException {
+		Method[] methods = clazz.getDeclaredMethods();
+		for(Method method : methods) {
+			addLifeCycle(CallbackEnum.POST_LOAD, method, "postLoad");
+			addLifeCycle(CallbackEnum.POST_PERSIST, method, "postPersist");
+			addLifeCycle(CallbackEnum.PRE_PERSIST, method, "prePersist");
+		}
+	}
+
+	private void addLifeCycle(CallbackEnum callback, Method method, String text) throws IllegalAccessException {
+		if(callback.hasAnnotation(method)) {
+			method.setAccessible(true);
+			MethodHandle handle = MethodHandles.lookup().unreflect(method).asType(CALLBACK_TYPE);
+			var o = this.callbacks.put(callback, new Callback(handle));
+			if(o != null) {
+				throw new IllegalStateException("multiple "+ text + " annotation");
+			}
+		}
+	}
+
+	/**
+	 * lifeCycle method consumer
+	 */
+	private static class Callback implements Consumer<Object> {
+		/** Consumer.accept, to bind to the generated callbacks */
+		private static final MethodHandle ACCEPT;
+		private final MethodHandle method;
+
+		static {
+			try {
+				ACCEPT = MethodHandles.publicLookup().findVirtual(Consumer.class, "accept", CALLBACK_TYPE);
+			} catch (ReflectiveOperationException e) {
+				throw new ExceptionInInitializerError(e);
+			}
+		}
+
+		private Callback(MethodHandle method) {
+			this.method = method;
+		}
+
+		@Override
+		public void accept(Object t) {
+			try {
+				method.invokeExact(t);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				//wrapped as the accessor exceptions
+				throw new RuntimeException(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,455 @@
+package io.github.ritonglue.gocsv.processor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.ritonglue.gocsv.convert.CharSequences;
+import io.github.ritonglue.gocsv.convert.DoubleValueConverter;
+import io.github.ritonglue.gocsv.convert.IntValueConverter;
+import io.github.ritonglue.gocsv.convert.LongValueConverter;
+import io.github.ritonglue.gocsv.convert.StringConverter;
+
+/**
+ * A batch of records stored by column, filled by {@link CSVEngine#parseColumns(java.io.Reader, org.apache.commons.csv.CSVFormat, int, java.util.function.Consumer)}.
+ * <p>
+ * The int, long and double columns (primitive or boxed) are stored in primitive arrays, the String columns
+ * are dictionary encoded and the other columns hold the converted objects. Each column has a null bitmap.
+ * The batch and its vectors are reused for the next batch, the String dictionaries are cleared.
+ */
+public final class ColumnBatch {
+	private final int capacity;
+	private final List<Vector> vectors;
+	private final Map<String, Vector> byHeader;
+	private int size;
+
+	ColumnBatch(List<AnnotationStorer> storers, int capacity) {
+		this.capacity = capacity;
+		List<Vector> vectors = new ArrayList<>(storers.size());
+		Map<String, Vector> byHeader = new HashMap<>();
+		for(AnnotationStorer storer : storers) {
+			Vector vector = vector(storer, capacity);
+			vectors.add(vector);
+			byHeader.put(storer.getHeader(), vector);
+		}
+		this.vectors = Collections.unmodifiableList(vectors);
+		this.byHeader = byHeader;
+	}
+
+	private static Vector vector(AnnotationStorer storer, int capacity) {
+		Class<?> type = storer.getClazz();
+		if(type == int.class || type == Integer.class) {
+			return new IntVector(storer, capacity);
+		} else if(type == long.class || type == Long.class) {
+			return new LongVector(storer, capacity);
+		} else if(type == double.class || type == Double.class) {
+			return new DoubleVector(storer, capacity);
+		} else if(type == String.class) {
+			return new StringVector(storer, capacity);
+		}
+		return new ObjectVector(storer, capacity);
+	}
+
+	/**
+	 * @return the number of records of the batch
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the columns, in the column order of the class
+	 */
+	public List<Vector> getVectors() {
+		return vectors;
+	}
+
+	/**
+	 * @param header the column header
+	 * @return the column
+	 * @throws IllegalArgumentException if the class has no such column
+	 */
+	public Vector getVector(String header) {
+		Vector vector = byHeader.get(header);
+		if(vector == null) {
+			throw new IllegalArgumentException("unknown column: " + header);
+		}
+		return vector;
+	}
+
+	public IntVector getInts(String header) {
+		return cast(header, IntVector.class);
+	}
+
+	public LongVector getLongs(String header) {
+		return cast(header, LongVector.class);
+	}
+
+	public DoubleVector getDoubles(String header) {
+		return cast(header, DoubleVector.class);
+	}
+
+	public StringVector getStrings(String header) {
+		return cast(header, StringVector.class);
+	}
+
+	private <V extends Vector> V cast(String header, Class<V> clazz) {
+		Vector vector = getVector(header);
+		if(!clazz.isInstance(vector)) {
+			throw new IllegalArgumentException(header + " is a " + vector.getClass().getSimpleName());
+		}
+		return clazz.cast(vector);
+	}
+
+	boolean isFull() {
+		return size == capacity;
+	}
+
+	/**
+	 * Starts the next record
+	 * @return the record index
+	 */
+	int add() {
+		return size++;
+	}
+
+	void clear() {
+		for(Vector vector : vectors) vector.clear();
+		size = 0;
+	}
+
+	/**
+	 * A column of the batch
+	 */
+	public abstract static class Vector {
+		private final String header;
+		private final long[] nulls;
+		final AnnotationStorer storer;
+
+		Vector(AnnotationStorer storer, int capacity) {
+			this.storer = storer;
+			this.header = storer.getHeader();
+			this.nulls = new long[(capacity + 63) >>> 6];
+		}
+
+		public String getHeader() {
+			return header;
+		}
+
+		/**
+		 * @return the null bitmap : bit i of word i / 64 is set if the value i is null
+		 */
+		public long[] getNulls() {
+			return nulls;
+		}
+
+		public boolean isNull(int i) {
+			return (nulls[i >>> 6] & (1L << i)) != 0;
+		}
+
+		/**
+		 * @return the value i, boxed, null if none
+		 */
+		public abstract Object getObject(int i);
+
+		void setNull(int i) {
+			nulls[i >>> 6] |= 1L << i;
+		}
+
+		/**
+		 * Converts the range of characters into the value i
+		 */
+		abstract void set(int i, CharSequence chars, int start, int end);
+
+		/**
+		 * Sets the value i from the converted value
+		 */
+		abstract void setObject(int i, Object value);
+
+		void clear() {
+			Arrays.fill(nulls, 0);
+		}
+	}
+
+	public static final class IntVector extends Vector {
+		private final int[] values;
+		private final IntValueConverter converter;
+
+		IntVector(AnnotationStorer storer, int capacity) {
+			super(storer, capacity);
+			this.values = new int[capacity];
+			this.converter = storer.getConverter() instanceof IntValueConverter ? (IntValueConverter) storer.getConverter() : null;
+		}
+
+		/**
+		 * @return the values, 0 if null, the array may be longer than the batch
+		 */
+		public int[] getValues() {
+			return values;
+		}
+
+		public int get(int i) {
+			return values[i];
+		}
+
+		@Override
+		public Object getObject(int i) {
+			return isNull(i) ? null : values[i];
+		}
+
+		@Override
+		void set(int i, CharSequence chars, int start, int end) {
+			if(converter == null) {
+				setObject(i, storer.toObject(chars, start, end));
+			} else if(chars == null || CharSequences.isBlank(chars, start, end)) {
+				setObject(i, null);
+			} else {
+				values[i] = converter.parseInt(chars, start, end);
+			}
+		}
+
+		@Override
+		void setObject(int i, Object value) {
+			if(value == null) {
+				values[i] = 0;
+				setNull(i);
+			} else {
+				values[i] = ((Number) value).intValue();
+			}
+		}
+	}
+
+	public static final class LongVector extends Vector {
+		private final long[] values;
+		private final LongValueConverter converter;
+
+		LongVector(AnnotationStorer storer, int capacity) {
+			super(storer, capacity);
+			this.values = new long[capacity];
+			this.converter = storer.getConverter() instanceof LongValueConverter ? (LongValueConverter) storer.getConverter() : null;
+		}
+
+		/**
+		 * @return the values, 0 if null, the array may be longer than the batch
+		 */
+		public long[] getValues() {
+			return values;
+		}
+
+		public long get(int i) {
+			return values[i];
+		}
+
+		@Override
+		public Object getObject(int i) {
+			return isNull(i) ? null : values[i];
+		}
+
+		@Override
+		void set(int i, CharSequence chars, int start, int end) {
+			if(converter == null) {
+				setObject(i, storer.toObject(chars, start, end));
+			} else if(chars == null || CharSequences.isBlank(chars, start, end)) {
+				setObject(i, null);
+			} else {
+				values[i] = converter.parseLong(chars, start, end);
+			}
+		}
+
+		@Override
+		void setObject(int i, Object value) {
+			if(value == null) {
+				values[i] = 0;
+				setNull(i);
+			} else {
+				values[i] = ((Number) value).longValue();
+			}
+		}
+	}
+
+	public static final class DoubleVector extends Vector {
+		private final double[] values;
+		private final DoubleValueConverter converter;
+
+		DoubleVector(AnnotationStorer storer, int capacity) {
+			super(storer, capacity);
+			this.values = new double[capacity];
+			this.converter = storer.getConverter() instanceof DoubleValueConverter ? (DoubleValueConverter) storer.getConverter() : null;
+		}
+
+		/**
+		 * @return the values, 0 if null, the array may be longer than the batch
+		 */
+		public double[] getValues() {
+			return values;
+		}
+
+		public double get(int i) {
+			return values[i];
+		}
+
+		@Override
+		public Object getObject(int i) {
+			return isNull(i) ? null : values[i];
+		}
+
+		@Override
+		void set(int i, CharSequence chars, int start, int end) {
+			if(converter == null) {
+				setObject(i, storer.toObject(chars, start, end));
+			} else if(chars == null || CharSequences.isBlank(chars, start, end)) {
+				setObject(i, null);
+			} else {
+				values[i] = converter.parseDouble(chars, start, end);
+			}
+		}
+
+		@Override
+		void setObject(int i, Object value) {
+			if(value == null) {
+				values[i] = 0;
+				setNull(i);
+			} else {
+				values[i] = ((Number) value).doubleValue();
+			}
+		}
+	}
+
+	/**
+	 * Dictionary encoded String column : the dictionary is built for each batch,
+	 * a code is only valid for the current batch.
+	 */
+	public static final class StringVector extends Vector {
+		private final int[] codes;
+		private final boolean identity;
+		private final List<String> dictionary = new ArrayList<>();
+		/** open addressing table of the dictionary codes + 1, 0 if empty */
+		private int[] table = new int[64];
+
+		StringVector(AnnotationStorer storer, int capacity) {
+			super(storer, capacity);
+			this.codes = new int[capacity];
+			this.identity = storer.getConverter() instanceof StringConverter;
+		}
+
+		/**
+		 * @return the dictionary codes, -1 if null, the array may be longer than the batch.
+		 * The codes are valid for the current batch only : the dictionary is cleared with the batch,
+		 * so that it doesn't grow with the distinct values of the whole file
+		 */
+		public int[] getCodes() {
+			return codes;
+		}
+
+		/**
+		 * @return the distinct values, indexed by code
+		 */
+		public List<String> getDictionary() {
+			return Collections.unmodifiableList(dictionary);
+		}
+
+		public String get(int i) {
+			int code = codes[i];
+			return code < 0 ? null : dictionary.get(code);
+		}
+
+		@Override
+		public Object getObject(int i) {
+			return get(i);
+		}
+
+		@Override
+		void set(int i, CharSequence chars, int start, int end) {
+			if(!identity || chars == null) {
+				setObject(i, storer.toObject(chars, start, end));
+			} else {
+				codes[i] = code(chars, start, end);
+			}
+		}
+
+		@Override
+		void setObject(int i, Object value) {
+			if(value == null) {
+				codes[i] = -1;
+				setNull(i);
+			} else {
+				String s = value.toString();
+				codes[i] = code(s, 0, s.length());
+			}
+		}
+
+		private int code(CharSequence chars, int start, int end) {
+			int hash = 0;
+			for(int i = start ; i < end ; ++i) hash = 31 * hash + chars.charAt(i);
+			int mask = table.length - 1;
+			int slot = mix(hash) & mask;
+			for(;;) {
+				int entry = table[slot];
+				if(entry == 0) break;
+				if(CharSequences.regionEquals(chars, start, end, dictionary.get(entry - 1))) return entry - 1;
+				slot = (slot + 1) & mask;
+			}
+			int code = dictionary.size();
+			dictionary.add(CharSequences.toString(chars, start, end));
+			table[slot] = code + 1;
+			if(2 * dictionary.size() > table.length) rehash();
+			return code;
+		}
+
+		private void rehash() {
+			int[] table = new int[this.table.length * 2];
+			int mask = table.length - 1;
+			for(int code = 0 ; code < dictionary.size() ; ++code) {
+				int slot = mix(dictionary.get(code).hashCode()) & mask;
+				while(table[slot] != 0) slot = (slot + 1) & mask;
+				table[slot] = code + 1;
+			}
+			this.table = table;
+		}
+
+		private static int mix(int hash) {
+			return hash ^ (hash >>> 16);
+		}
+
+		@Override
+		void clear() {
+			super.clear();
+			dictionary.clear();
+			Arrays.fill(table, 0);
+		}
+	}
+
+	public static final class ObjectVector extends Vector {
+		private final Object[] values;
+
+		ObjectVector(AnnotationStorer storer, int capacity) {
+			super(storer, capacity);
+			this.values = new Object[capacity];
+		}
+
+		@Override
+		public Object getObject(int i) {
+			return values[i];
+		}
+
+		@Override
+		void set(int i, CharSequence chars, int start, int end) {
+			setObject(i, storer.toObject(chars, start, end));
+		}
+
+		@Override
+		void setObject(int i, Object value) {
+			values[i] = value;
+			if(value == null) setNull(i);
+		}
+
+		@Override
+		void clear() {
+			super.clear();
+			Arrays.fill(values, null);
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package io.github.ritonglue.gocsv.processor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.github.ritonglue.gocsv.annotation.CSVConstructor;
+
+/**
+ * Creates the objects through a constructor taking one parameter per non-static field :
+ * the canonical constructor of a record or a constructor annotated with {@link CSVConstructor}.
+ * The columns are converted into a per thread argument buffer and the constructor is invoked once per row.
+ */
+final class ConstructorBinder {
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+	private final MethodHandle constructor;
+	/** argument position of each column, in columns order */
+	private final int[] positions;
+	private final Object[] defaults;
+	private final ThreadLocal<Object[]> buffer;
+
+	private ConstructorBinder(MethodHandle constructor, int[] positions, Object[] defaults) {
+		this.constructor = constructor;
+		this.positions = positions;
+		this.defaults = defaults;
+		this.buffer = ThreadLocal.withInitial(() -> new Object[defaults.length]);
+	}
+
+	/**
+	 * @param clazz the class
+	 * @param columns the field of each sorted column, null for a property
+	 * @return the binder or null if the class is created with its no-arg constructor
+	 * @throws IllegalAccessException if the constructor is not accessible
+	 */
+	static ConstructorBinder create(Class<?> clazz, List<Field> columns) throws IllegalAccessException {
+		List<Field> fields = new ArrayList<>();
+		for(Field field : clazz.getDeclaredFields()) {
+			if(!Modifier.isStatic(field.getModifiers())) fields.add(field);
+		}
+		Class<?>[] types = fields.stream().map(Field::getType).toArray(Class<?>[]::new);
+		Constructor<?> constructor = null;
+		for(Constructor<?> c : clazz.getDeclaredConstructors()) {
+			if(c.isAnnotationPresent(CSVConstructor.class)) {
+				if(constructor != null) {
+					throw new IllegalStateException("multiple CSVConstructor annotation");
+				}
+				constructor = c;
+			}
+		}
+		if(constructor == null && isRecord(clazz)) {
+			for(Constructor<?> c : clazz.getDeclaredConstructors()) {
+				if(Arrays.equals(c.getParameterTypes(), types)) constructor = c;
+			}
+		}
+		if(constructor == null) {
+			return null;
+		}
+		if(!Arrays.equals(constructor.getParameterTypes(), types)) {
+			throw new IllegalArgumentException("constructor parameters don't match the fields: " + constructor);
+		}
+		int[] positions = new int[columns.size()];
+		for(int i = 0 ; i < positions.length ; ++i) {
+			Field field = columns.get(i);
+			if(field == null) {
+				throw new IllegalArgumentException("constructor binding needs field access: " + clazz);
+			}
+			positions[i] = fields.indexOf(field);
+		}
+		Object[] defaults = new Object[types.length];
+		for(int i = 0 ; i < types.length ; ++i) {
+			if(types[i].isPrimitive()) {
+				//zero value of the primitive
+				defaults[i] = Array.get(Array.newInstance(types[i], 1), 0);
+			}
+		}
+		constructor.setAccessible(true);
+		MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor)
+				.asSpreader(Object[].class, types.length)
+				.asType(CONSTRUCTOR_TYPE);
+		return new ConstructorBinder(handle, positions, defaults);
+	}
+
+	private static boolean isRecord(Class<?> clazz) {
+		Class<?> superclass = clazz.getSuperclass();
+		return superclass != null && "java.lang.Record".equals(superclass.getName());
+	}
+
+	/**
+	 * @return the argument buffer of the current thread, filled with the default values
+	 */
+	Object[] arguments() {
+		Object[] arguments = buffer.get();
+		System.arraycopy(defaults, 0, arguments, 0, defaults.length);
+		return arguments;
+	}
+
+	/**
+	 * Sets the argument of a storer. A null value fails for a primitive, as a field would.
+	 * @param arguments the argument buffer
+	 * @param storerIndex the storer index
+	 * @param value the converted value
+	 */
+	void setArgument(Object[] arguments, int storerIndex, Object value) {
+		int position = positions[storerIndex];
+		if(value == null && defaults[position] != null) {
+			throw new RuntimeException(new NullPointerException("null primitive argument: " + position));
+		}
+		arguments[position] = value;
+	}
+
+	Object newInstance(Object[] arguments) {
+		try {
+			return (Object) constructor.invokeExact(arguments);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
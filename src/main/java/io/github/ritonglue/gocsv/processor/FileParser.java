@@ -0,0 +1,448 @@
+package io.github.ritonglue.gocsv.processor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.csv.CSVFormat;
+
+/**
+ * Parallel parse of a memory mapped UTF-8 file.
+ * <p>
+ * The file is cut into chunks at line feeds outside quoted values : the quotes of each chunk are counted in parallel,
+ * the prefix parity tells whether a chunk starts inside a quoted value. This holds as long as a quote only encloses
+ * a value or is doubled inside it (RFC 4180) : each chunk is then checked to end outside a quoted value, as the tokenizer
+ * reads it, and the file is read sequentially otherwise. The chunks are then tokenized and converted on a ForkJoinPool,
+ * a bounded number of chunks in flight.
+ *
+ * @param <T> the pojo type
+ */
+final class FileParser<T> {
+	private static final int CHUNK_SIZE = 8 << 20;
+	/** chunks in flight per thread */
+	private static final int WINDOW = 2;
+
+	private final CSVEngine<T> engine;
+	private final FileChannel channel;
+	private final CSVFormat format;
+	private final ForkJoinPool pool;
+	private final int parallelism;
+	private final int chunkSize;
+	private final byte quote;
+	private final boolean hasQuote;
+	private final byte delimiter;
+	private final boolean ignoreSurroundingSpaces;
+
+	private FileParser(CSVEngine<T> engine, FileChannel channel, CSVFormat format, int parallelism, int chunkSize) {
+		this.engine = engine;
+		this.chunkSize = chunkSize;
+		this.channel = channel;
+		this.format = format;
+		this.parallelism = parallelism;
+		this.pool = new ForkJoinPool(parallelism);
+		this.hasQuote = format.isQuoteCharacterSet();
+		this.quote = hasQuote ? (byte) format.getQuoteCharacter().charValue() : 0;
+		this.delimiter = (byte) format.getDelimiterString().charAt(0);
+		this.ignoreSurroundingSpaces = format.getIgnoreSurroundingSpaces();
+	}
+
+	/**
+	 * @return true if the chunks can be found by quote parity
+	 */
+	static boolean isSplittable(CSVFormat format) {
+		//an escaped quote or a quote in a comment breaks the parity
+		return !format.isEscapeCharacterSet() && !format.isCommentMarkerSet()
+			&& (!format.isQuoteCharacterSet() || format.getQuoteCharacter() < 0x80)
+			&& format.getDelimiterString().length() == 1 && format.getDelimiterString().charAt(0) < 0x80;
+	}
+
+	/**
+	 * @param engine the engine
+	 * @param path the UTF-8 file
+	 * @param format the format, {@link #isSplittable(CSVFormat)}
+	 * @param parallelism the number of threads
+	 * @param ordered true to keep the file order
+	 * @return the stream, closing it releases the file and the threads
+	 * @throws IOException if the file can't be read
+	 */
+	static <T> Stream<T> parse(CSVEngine<T> engine, Path path, CSVFormat format, int parallelism, boolean ordered) throws IOException {
+		return parse(engine, path, format, parallelism, ordered, CHUNK_SIZE);
+	}
+
+	static <T> Stream<T> parse(CSVEngine<T> engine, Path path, CSVFormat format, int parallelism, boolean ordered, int chunkSize) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		FileParser<T> parser = null;
+		try {
+			parser = new FileParser<>(engine, channel, format, parallelism, chunkSize);
+			Stream<T> stream = parser.parse(ordered);
+			if(stream != null) return stream;
+		} catch(IOException | RuntimeException | Error e) {
+			if(parser != null) parser.close();
+			else channel.close();
+			throw e;
+		}
+		//a quote inside an unquoted value
+		parser.close();
+		return engine.parseSequential(path, format);
+	}
+
+	/**
+	 * @return the stream, null if a chunk doesn't end outside a quoted value
+	 */
+	private Stream<T> parse(boolean ordered) throws IOException {
+		long size = channel.size();
+		long dataStart = 0;
+		Map<String, Integer> headerMap = null;
+		String[] header = format.getHeader();
+		if(header != null) {
+			if(header.length == 0 || format.getSkipHeaderRecord()) {
+				dataStart = headerEnd(size);
+				String text = StandardCharsets.UTF_8.decode(map(0, dataStart)).toString();
+				headerMap = new Tokenizer(new StringReader(text), format).getHeaderMap();
+			} else {
+				headerMap = new Tokenizer(new StringReader(""), format).getHeaderMap();
+			}
+		}
+		CSVFormat dataFormat = format.builder().setHeader((String[]) null).setSkipHeaderRecord(false).build();
+		int[] plan = engine.columnPlan(headerMap);
+		long[] bounds = split(dataStart, size);
+		if(bounds == null) return null;
+		Iterator<List<T>> chunks = new ChunkIterator(bounds, dataFormat, plan, ordered);
+		Iterator<T> iterator = new Iterator<T>() {
+			private Iterator<T> current = Collections.emptyIterator();
+
+			@Override
+			public boolean hasNext() {
+				while(!current.hasNext()) {
+					if(!chunks.hasNext()) {
+						close();
+						return false;
+					}
+					current = chunks.next().iterator();
+				}
+				return true;
+			}
+
+			@Override
+			public T next() {
+				if(!hasNext()) throw new NoSuchElementException();
+				return current.next();
+			}
+		};
+		int characteristics = ordered ? Spliterator.ORDERED | Spliterator.NONNULL : Spliterator.NONNULL;
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, characteristics), false)
+			.onClose(this::close);
+	}
+
+	private void close() {
+		pool.shutdownNow();
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private MappedByteBuffer map(long start, long end) {
+		if(end - start > Integer.MAX_VALUE) {
+			throw new IllegalStateException("record larger than 2GB at " + start);
+		}
+		try {
+			return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @return the offset after the first record line, skipping the empty lines if ignored
+	 */
+	private long headerEnd(long size) {
+		ByteBuffer buffer = map(0, Math.min(size, Integer.MAX_VALUE));
+		int limit = buffer.limit();
+		int p = 0;
+		while(p < limit) {
+			int start = p;
+			boolean inQuote = false;
+			while(p < limit) {
+				byte b = buffer.get(p++);
+				if(hasQuote && b == quote) {
+					inQuote = !inQuote;
+				} else if(!inQuote && (b == '\n' || (b == '\r' && (p >= limit || buffer.get(p) != '\n')))) {
+					break;
+				}
+			}
+			boolean empty = true;
+			for(int i = start ; i < p && empty ; ++i) {
+				byte b = buffer.get(i);
+				empty = b == '\r' || b == '\n';
+			}
+			if(!empty || !format.getIgnoreEmptyLines()) break;
+		}
+		return p;
+	}
+
+	/**
+	 * Quote count and first line feeds of a nominal chunk
+	 */
+	private static class Scan {
+		private int quotes;
+		/** offset after the first line feed preceded by an even / odd number of quotes in the chunk, -1 if none */
+		private final long[] lineFeed = {-1, -1};
+	}
+
+	/**
+	 * @return the chunk bounds : chunk i is [bounds[i], bounds[i + 1]), null if they can't be verified
+	 */
+	private long[] split(long start, long end) {
+		int n = (int) Math.max(1, Math.min(Integer.MAX_VALUE - 1, (end - start) / chunkSize));
+		if(n == 1) {
+			return new long[] {start, end};
+		}
+		List<ForkJoinTask<Scan>> scans = new ArrayList<>(n);
+		for(int i = 0 ; i < n ; ++i) {
+			long a = start + (end - start) * i / n;
+			long b = start + (end - start) * (i + 1) / n;
+			scans.add(pool.submit(() -> scan(a, b)));
+		}
+		List<Long> bounds = new ArrayList<>();
+		bounds.add(start);
+		int parity = 0;
+		for(int i = 0 ; i < n ; ++i) {
+			Scan scan = scans.get(i).join();
+			if(i > 0) {
+				long lineFeed = scan.lineFeed[parity];
+				if(lineFeed >= 0 && lineFeed < end) bounds.add(lineFeed);
+			}
+			parity = (parity + scan.quotes) & 1;
+		}
+		bounds.add(end);
+		long[] array = new long[bounds.size()];
+		for(int i = 0 ; i < array.length ; ++i) array[i] = bounds.get(i);
+		//the parity is wrong after a quote inside an unquoted value
+		List<ForkJoinTask<Boolean>> checks = new ArrayList<>(array.length - 2);
+		for(int i = 0 ; i < array.length - 2 ; ++i) {
+			long a = array[i];
+			long b = array[i + 1];
+			checks.add(pool.submit(() -> endsOutsideQuotes(a, b)));
+		}
+		for(ForkJoinTask<Boolean> check : checks) {
+			if(!check.join()) return null;
+		}
+		return array;
+	}
+
+	private Scan scan(long start, long end) {
+		ByteBuffer buffer = map(start, end);
+		Scan scan = new Scan();
+		int limit = buffer.limit();
+		int quotes = 0;
+		for(int p = 0 ; p < limit ; ++p) {
+			byte b = buffer.get(p);
+			if(hasQuote && b == quote) {
+				++quotes;
+			} else if(b == '\n' && scan.lineFeed[quotes & 1] < 0) {
+				scan.lineFeed[quotes & 1] = start + p + 1;
+			}
+		}
+		scan.quotes = quotes;
+		return scan;
+	}
+
+	/**
+	 * Follows the quotes as the tokenizer does : a quote opens a value only at its start
+	 * @return true if the chunk starting at a record ends at a record boundary
+	 */
+	private boolean endsOutsideQuotes(long start, long end) {
+		ByteBuffer buffer = map(start, end);
+		int limit = buffer.limit();
+		boolean valueStart = true;
+		boolean quoted = false;
+		//after the closing quote, or a doubled quote
+		boolean closed = false;
+		for(int p = 0 ; p < limit ; ++p) {
+			byte b = buffer.get(p);
+			if(quoted) {
+				if(b == quote) quoted = false;
+				closed = !quoted;
+				continue;
+			}
+			if(b == delimiter || b == '\n' || b == '\r') {
+				valueStart = true;
+				closed = false;
+			} else if(closed) {
+				if(b == quote) {
+					//doubled quote
+					quoted = true;
+				} else if(!isWhitespace(b)) {
+					//rejected by the tokenizer : read sequentially to report it
+					return false;
+				}
+			} else if(valueStart && hasQuote && b == quote) {
+				quoted = true;
+				valueStart = false;
+			} else if(!(valueStart && ignoreSurroundingSpaces && isWhitespace(b))) {
+				valueStart = false;
+			}
+		}
+		return !quoted;
+	}
+
+	/**
+	 * @return true for the ASCII characters of {@link Character#isWhitespace(char)}, but the line feeds
+	 */
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\t' || b == 0x0B || b == '\f' || (b >= 0x1C && b <= 0x1F);
+	}
+
+	/**
+	 * Tokenizes and converts a chunk
+	 */
+	private List<T> convert(long start, long end, CSVFormat dataFormat, int[] plan) {
+		List<T> list = new ArrayList<>();
+		Reader reader = new InputStreamReader(new ByteBufferInputStream(map(start, end)), StandardCharsets.UTF_8);
+		Tokenizer tokenizer = new Tokenizer(reader, dataFormat);
+		tokenizer.setColumnLimit(CSVEngine.columnLimit(plan));
+		while(engine.next(tokenizer, plan)) {
+			list.add(engine.convert(tokenizer, plan));
+		}
+		return list;
+	}
+
+	/**
+	 * Converted chunks, in file order or in completion order
+	 */
+	private class ChunkIterator implements Iterator<List<T>> {
+		private final long[] bounds;
+		private final CSVFormat dataFormat;
+		private final int[] plan;
+		private final boolean ordered;
+		private final int window = parallelism * WINDOW;
+		private final ArrayDeque<ForkJoinTask<List<T>>> tasks = new ArrayDeque<>();
+		/** completed tasks of the unordered iterator */
+		private final BlockingQueue<ForkJoinTask<List<T>>> done = new LinkedBlockingQueue<>();
+		private int next;
+		private int inFlight;
+
+		private ChunkIterator(long[] bounds, CSVFormat dataFormat, int[] plan, boolean ordered) {
+			this.bounds = bounds;
+			this.dataFormat = dataFormat;
+			this.plan = plan;
+			this.ordered = ordered;
+		}
+
+		private void submit() {
+			while(inFlight < window && next < bounds.length - 1) {
+				long start = bounds[next];
+				long end = bounds[next + 1];
+				++next;
+				++inFlight;
+				ForkJoinTask<List<T>> task = new ForkJoinTask<List<T>>() {
+					private static final long serialVersionUID = 1L;
+					private List<T> result;
+
+					@Override
+					public List<T> getRawResult() {
+						return result;
+					}
+
+					@Override
+					protected void setRawResult(List<T> value) {
+						this.result = value;
+					}
+
+					@Override
+					protected boolean exec() {
+						try {
+							result = convert(start, end, dataFormat, plan);
+							return true;
+						} finally {
+							if(!ordered) done.add(this);
+						}
+					}
+				};
+				tasks.add(task);
+				pool.execute(task);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			submit();
+			return inFlight > 0;
+		}
+
+		@Override
+		public List<T> next() {
+			if(!hasNext()) throw new NoSuchElementException();
+			ForkJoinTask<List<T>> task;
+			if(ordered) {
+				task = tasks.poll();
+			} else {
+				try {
+					task = done.take();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException(e);
+				}
+				tasks.remove(task);
+			}
+			--inFlight;
+			return task.join();
+		}
+	}
+
+	/**
+	 * InputStream reading a ByteBuffer
+	 */
+	private static class ByteBufferInputStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		private ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if(len == 0) return 0;
+			if(!buffer.hasRemaining()) return -1;
+			int n = Math.min(len, buffer.remaining());
+			buffer.get(b, off, n);
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package io.github.ritonglue.gocsv.processor;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Outcome of the parse of a file by {@link CSVEngine#parseAll(java.util.Collection, org.apache.commons.csv.CSVFormat, java.util.function.Consumer)}
+ *
+ * @param <T> the pojo type
+ */
+public final class FileResult<T> {
+	private final Path path;
+	private final List<T> records;
+	private final Exception error;
+
+	private FileResult(Path path, List<T> records, Exception error) {
+		this.path = Objects.requireNonNull(path, "path null");
+		this.records = records;
+		this.error = error;
+	}
+
+	static <T> FileResult<T> success(Path path, List<T> records) {
+		return new FileResult<>(path, Collections.unmodifiableList(records), null);
+	}
+
+	static <T> FileResult<T> failure(Path path, Exception error) {
+		return new FileResult<>(path, Collections.emptyList(), Objects.requireNonNull(error, "error null"));
+	}
+
+	public Path getPath() {
+		return path;
+	}
+
+	/**
+	 * @return the records of the file, empty if the parse failed
+	 */
+	public List<T> getRecords() {
+		return records;
+	}
+
+	/**
+	 * @return the error of the parse, null if it succeeded
+	 */
+	public Exception getError() {
+		return error;
+	}
+
+	public boolean isSuccess() {
+		return error == null;
+	}
+
+	@Override
+	public String toString() {
+		return path + (error == null ? ": " + records.size() + " records" : ": " + error);
+	}
+}
@@ -0,0 +1,181 @@
+package io.github.ritonglue.gocsv.processor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.ritonglue.gocsv.convert.CharSequences;
+import io.github.ritonglue.gocsv.convert.Converter;
+
+/**
+ * Per class binder : the whole read and write bodies are composed once into a single
+ * method handle tree, one step per column, with converters and accessors bound as constants.
+ * The JVM spins the tree into classes that the JIT can inline column by column.
+ */
+final class HandleBinder {
+	private static final MethodType READ_TYPE = MethodType.methodType(void.class, Object.class, Row.class, int[].class);
+	private static final MethodType WRITE_TYPE = MethodType.methodType(void.class, Object.class, String[].class);
+
+	private static final MethodHandle TO_OBJECT;
+	private static final MethodHandle GET_AS_STRING;
+	private static final MethodHandle ROW_CHARS;
+	private static final MethodHandle ROW_START;
+	private static final MethodHandle ROW_END;
+	private static final MethodHandle IS_SET;
+	private static final MethodHandle IS_BLANK;
+	private static final MethodHandle ABSENT;
+	private static final MethodHandle HANDLE;
+
+	static {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			TO_OBJECT = lookup.findVirtual(AnnotationStorer.class, "toObject"
+					, MethodType.methodType(Object.class, CharSequence.class, int.class, int.class));
+			GET_AS_STRING = lookup.findVirtual(Converter.class, "getAsString", MethodType.methodType(String.class, Object.class));
+			ROW_CHARS = lookup.findVirtual(Row.class, "chars", MethodType.methodType(CharSequence.class, int.class));
+			ROW_START = lookup.findVirtual(Row.class, "start", MethodType.methodType(int.class, int.class));
+			ROW_END = lookup.findVirtual(Row.class, "end", MethodType.methodType(int.class, int.class));
+			IS_SET = lookup.findStatic(HandleBinder.class, "isSet", MethodType.methodType(boolean.class, Row.class, int.class));
+			IS_BLANK = lookup.findStatic(HandleBinder.class, "isBlank", MethodType.methodType(boolean.class
+					, CharSequence.class, int.class, int.class));
+			ABSENT = lookup.findStatic(HandleBinder.class, "absent", MethodType.methodType(void.class
+					, CallbackIndex.class, AnnotationStorer.class, Object.class, Row.class, int.class));
+			HANDLE = lookup.findStatic(HandleBinder.class, "handle", MethodType.methodType(Object.class
+					, RecordHandler.class, AnnotationStorer.class, Object.class, CharSequence.class, int.class, int.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final MethodHandle reader;
+	private final MethodHandle writer;
+
+	private HandleBinder(MethodHandle reader, MethodHandle writer) {
+		this.reader = reader;
+		this.writer = writer;
+	}
+
+	/**
+	 * Builds the binder
+	 * @param storers the columns
+	 * @param recordHandler the record handler, may be null
+	 * @param callback the index callback, may be null
+	 * @return the binder or null if it can't be built : the caller falls back to the storer loop
+	 */
+	static HandleBinder create(List<AnnotationStorer> storers, RecordHandler recordHandler, CallbackIndex callback) {
+		try {
+			List<MethodHandle> readers = new ArrayList<>();
+			List<MethodHandle> writers = new ArrayList<>();
+			int n = storers.size();
+			for(int i = 0 ; i < n ; ++i) {
+				AnnotationStorer storer = storers.get(i);
+				if(storer.getSetterHandle() == null) return null;
+				readers.add(reader(storer, i, recordHandler, callback));
+				writers.add(writer(storer, i));
+			}
+			return new HandleBinder(sequence(readers, READ_TYPE), sequence(writers, WRITE_TYPE));
+		} catch(RuntimeException e) {
+			//class definition not allowed
+			return null;
+		}
+	}
+
+	/**
+	 * (Object t, Row row, int[] plan)void
+	 */
+	private static MethodHandle reader(AnnotationStorer storer, int position, RecordHandler recordHandler, CallbackIndex callback) {
+		//(Object t, CharSequence chars, int start, int end)void
+		MethodHandle store;
+		//(CharSequence chars, int start, int end)Object
+		MethodHandle convert = TO_OBJECT.bindTo(storer);
+		if(recordHandler != null) {
+			MethodHandle handle = MethodHandles.insertArguments(HANDLE, 0, recordHandler, storer);
+			convert = MethodHandles.foldArguments(handle, convert);
+		}
+		store = MethodHandles.collectArguments(storer.getSetterHandle(), 1, convert);
+		if(recordHandler == null && storer.getValueReader() != null) {
+			//primitive : no boxing, a blank value is converted boxed as AnnotationStorer.readValue does
+			MethodHandle test = MethodHandles.dropArguments(IS_BLANK, 0, Object.class);
+			store = MethodHandles.guardWithTest(test, store, storer.getValueReader());
+		}
+		//(Object t, Row row, int index)void
+		store = MethodHandles.collectArguments(store, 3, ROW_END);
+		store = MethodHandles.collectArguments(store, 2, ROW_START);
+		store = MethodHandles.collectArguments(store, 1, ROW_CHARS);
+		store = MethodHandles.permuteArguments(store, MethodType.methodType(void.class, Object.class, Row.class, int.class)
+				, 0, 1, 2, 1, 2, 1, 2);
+		MethodHandle test = MethodHandles.dropArguments(IS_SET, 0, Object.class);
+		MethodHandle absent = MethodHandles.insertArguments(ABSENT, 0, callback, storer);
+		MethodHandle column = MethodHandles.guardWithTest(test, store, absent);
+		//replace the index with plan[position]
+		MethodHandle index = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(int[].class), 1, position);
+		return MethodHandles.filterArguments(column, 2, index);
+	}
+
+	/**
+	 * (Object t, String[] values)void
+	 */
+	private static MethodHandle writer(AnnotationStorer storer, int position) {
+		//(Object)String
+		MethodHandle value = storer.getValueWriter() != null ? storer.getValueWriter()
+			: MethodHandles.filterReturnValue(storer.getGetterHandle(), GET_AS_STRING.bindTo(storer.getConverter()));
+		//(String[] values, String value)void
+		MethodHandle store = MethodHandles.insertArguments(MethodHandles.arrayElementSetter(String[].class), 1, position);
+		store = MethodHandles.filterArguments(store, 1, value);
+		return MethodHandles.permuteArguments(store, WRITE_TYPE, 1, 0);
+	}
+
+	/**
+	 * Balanced sequence of void handles to keep the inlining depth logarithmic
+	 */
+	private static MethodHandle sequence(List<MethodHandle> handles, MethodType type) {
+		if(handles.isEmpty()) return MethodHandles.empty(type);
+		if(handles.size() == 1) return handles.get(0);
+		int middle = handles.size() / 2;
+		MethodHandle first = sequence(handles.subList(0, middle), type);
+		MethodHandle second = sequence(handles.subList(middle, handles.size()), type);
+		return MethodHandles.foldArguments(second, first);
+	}
+
+	void read(Object t, Row row, int[] plan) {
+		try {
+			reader.invokeExact(t, row, plan);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	void write(Object t, String[] values) {
+		try {
+			writer.invokeExact(t, values);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static boolean isSet(Row row, int index) {
+		return index >= 0 && row.isSet(index);
+	}
+
+	private static boolean isBlank(CharSequence chars, int start, int end) {
+		return chars == null || CharSequences.isBlank(chars, start, end);
+	}
+
+	private static void absent(CallbackIndex callback, AnnotationStorer storer, Object t, Row row, int index) {
+		//missing columns are reported once by the plan
+		if(callback != null && index >= 0) {
+			callback.outOfRangeIndex(storer);
+		}
+	}
+
+	private static Object handle(RecordHandler recordHandler, AnnotationStorer storer, Object object
+			, CharSequence chars, int start, int end) {
+		return recordHandler.accept(chars == null ? null : CharSequences.toString(chars, start, end), object, storer);
+	}
+}
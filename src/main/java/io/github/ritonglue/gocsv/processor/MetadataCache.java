@@ -0,0 +1,38 @@
+package io.github.ritonglue.gocsv.processor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the process wide class metadata cache.
+ * The metadata of a class (columns, orders, headers, life cycle methods) is computed once
+ * and shared by all the engines built for this class.
+ */
+public final class MetadataCache {
+	private static final LongAdder LOOKUPS = new LongAdder();
+	private static final LongAdder MISSES = new LongAdder();
+
+	private MetadataCache() {
+	}
+
+	static void lookup() {
+		LOOKUPS.increment();
+	}
+
+	static void miss() {
+		MISSES.increment();
+	}
+
+	/**
+	 * @return the number of engines built from the cached metadata
+	 */
+	public static long getHitCount() {
+		return Math.max(0, LOOKUPS.sum() - MISSES.sum());
+	}
+
+	/**
+	 * @return the number of times the metadata of a class has been computed
+	 */
+	public static long getMissCount() {
+		return MISSES.sum();
+	}
+}
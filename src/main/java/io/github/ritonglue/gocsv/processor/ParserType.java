@@ -0,0 +1,11 @@
+package io.github.ritonglue.gocsv.processor;
+
+/**
+ * The CSV reader used by {@link CSVEngine}
+ */
+public enum ParserType {
+	/** org.apache.commons.csv.CSVParser, supports all the CSVFormat options and the record filter */
+	COMMONS_CSV,
+	/** built-in tokenizer over large char buffers : the values are converted without copy */
+	NATIVE;
+}
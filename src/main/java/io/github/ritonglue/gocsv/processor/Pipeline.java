@@ -0,0 +1,153 @@
+package io.github.ritonglue.gocsv.processor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Pipelined parse : a reader thread tokenizes the records into batches, a pool of workers converts the batches
+ * and the iterator gives back the records in input order.
+ * <p>
+ * The batches are queued in input order as futures, the queue is bounded so at most two batches per worker
+ * wait for the consumer.
+ *
+ * @param <T> the pojo type
+ */
+final class Pipeline<T> implements Iterator<T> {
+	static final int BATCH_SIZE = 512;
+	private static final AtomicInteger THREADS = new AtomicInteger();
+
+	private final Supplier<Row> rows;
+	private final Function<Row, T> converter;
+	private final ExecutorService pool;
+	private final BlockingQueue<Future<List<T>>> queue;
+	private final Future<List<T>> end = CompletableFuture.completedFuture(null);
+	private final Thread reader;
+	private Iterator<T> current = Collections.emptyIterator();
+	private boolean done;
+	/** read by the reader thread : the interrupt of close() may be swallowed by the input */
+	private volatile boolean closed;
+
+	/**
+	 * Starts the reader thread and the workers
+	 * @param rows the detached records, null at the end of the input
+	 * @param converter the record conversion
+	 * @param workers the number of conversion threads
+	 */
+	Pipeline(Supplier<Row> rows, Function<Row, T> converter, int workers) {
+		this.rows = rows;
+		this.converter = converter;
+		this.queue = new ArrayBlockingQueue<>(2 * workers);
+		this.pool = Executors.newFixedThreadPool(workers, r -> thread(r, "gocsv-convert-"));
+		this.reader = thread(this::read, "gocsv-read-");
+		reader.start();
+	}
+
+	private static Thread thread(Runnable runnable, String prefix) {
+		Thread thread = new Thread(runnable, prefix + THREADS.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	private void read() {
+		try {
+			for(;;) {
+				List<Row> batch = new ArrayList<>(BATCH_SIZE);
+				Row row;
+				while(batch.size() < BATCH_SIZE && (row = rows.get()) != null) {
+					batch.add(row);
+				}
+				if(closed) return;
+				if(!batch.isEmpty() && !put(pool.submit(() -> convert(batch)))) return;
+				if(batch.size() < BATCH_SIZE) break;
+			}
+			put(end);
+		} catch(InterruptedException e) {
+			//closed
+		} catch(RuntimeException | Error e) {
+			//rejected by the pool once closed
+			if(closed) return;
+			CompletableFuture<List<T>> failure = new CompletableFuture<>();
+			failure.completeExceptionally(e);
+			try {
+				put(failure);
+			} catch (InterruptedException ee) {
+				//closed
+			}
+		}
+	}
+
+	/**
+	 * Waits for room in the queue until closed
+	 * @return false if closed
+	 */
+	private boolean put(Future<List<T>> future) throws InterruptedException {
+		while(!closed) {
+			if(queue.offer(future, 100, TimeUnit.MILLISECONDS)) return true;
+		}
+		return false;
+	}
+
+	private List<T> convert(List<Row> batch) {
+		List<T> list = new ArrayList<>(batch.size());
+		for(Row row : batch) {
+			list.add(converter.apply(row));
+		}
+		return list;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while(!current.hasNext()) {
+			if(done) return false;
+			try {
+				Future<List<T>> future = queue.take();
+				if(future == end) {
+					close();
+					return false;
+				}
+				current = future.get().iterator();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				close();
+				throw new RuntimeException(e);
+			} catch (ExecutionException e) {
+				close();
+				Throwable cause = e.getCause();
+				if(cause instanceof RuntimeException) throw (RuntimeException) cause;
+				if(cause instanceof Error) throw (Error) cause;
+				throw new RuntimeException(cause);
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public T next() {
+		if(!hasNext()) throw new NoSuchElementException();
+		return current.next();
+	}
+
+	/**
+	 * Stops the reader thread and the workers
+	 */
+	void close() {
+		done = true;
+		closed = true;
+		reader.interrupt();
+		pool.shutdownNow();
+	}
+}
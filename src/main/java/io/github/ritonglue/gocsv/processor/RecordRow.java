@@ -0,0 +1,51 @@
+package io.github.ritonglue.gocsv.processor;
+
+import org.apache.commons.csv.CSVRecord;
+
+/**
+ * {@link Row} view of a commons-csv record
+ */
+final class RecordRow implements Row {
+	private final CSVRecord record;
+	private Object[] whereValues;
+
+	RecordRow(CSVRecord record) {
+		this.record = record;
+	}
+
+	@Override
+	public int size() {
+		return record.size();
+	}
+
+	@Override
+	public CharSequence chars(int i) {
+		return record.get(i);
+	}
+
+	@Override
+	public int start(int i) {
+		return 0;
+	}
+
+	@Override
+	public int end(int i) {
+		String value = record.get(i);
+		return value == null ? 0 : value.length();
+	}
+
+	@Override
+	public String get(int i) {
+		return record.get(i);
+	}
+
+	@Override
+	public Object[] getWhereValues() {
+		return whereValues;
+	}
+
+	@Override
+	public void setWhereValues(Object[] whereValues) {
+		this.whereValues = whereValues;
+	}
+}
@@ -0,0 +1,37 @@
+package io.github.ritonglue.gocsv.processor;
+
+/**
+ * A parsed record : the value i is the range [start(i), end(i)) of chars(i).
+ * Valid until the next record is read.
+ */
+interface Row {
+	int size();
+
+	/**
+	 * @return true if the record has the value
+	 */
+	default boolean isSet(int i) {
+		return i < size();
+	}
+
+	/**
+	 * @return the characters holding the value, null for a null value
+	 */
+	CharSequence chars(int i);
+
+	int start(int i);
+
+	int end(int i);
+
+	/**
+	 * @return the value copied into a String
+	 */
+	String get(int i);
+
+	/**
+	 * @return the values converted by the column conditions of the engine, null if none
+	 */
+	Object[] getWhereValues();
+
+	void setWhereValues(Object[] whereValues);
+}
@@ -0,0 +1,448 @@
+package io.github.ritonglue.gocsv.processor;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.csv.CSVFormat;
+
+/**
+ * Built-in CSV reader over a large char buffer. A record is scanned in place : its values are ranges of the buffer,
+ * only the values with doubled quotes or escaped characters are copied, unescaped, in a scratch buffer.
+ * A record cut by the end of the buffer is scanned again once the buffer is compacted and filled.
+ * <p>
+ * The CSVFormat options read are : delimiter, quote, escape, comment marker, header, skipHeaderRecord,
+ * ignoreHeaderCase, trim, ignoreSurroundingSpaces and ignoreEmptyLines.
+ * The line separators are LF, CR and CRLF.
+ */
+final class Tokenizer implements Row {
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int RECORD = 0;
+	private static final int SKIP = 1;
+	private static final int END = 2;
+	private static final int MORE = 3;
+
+	private final Reader reader;
+	private final char delimiter;
+	private final boolean hasQuote;
+	private final char quote;
+	private final boolean hasEscape;
+	private final char escape;
+	private final boolean hasComment;
+	private final char comment;
+	private final boolean trim;
+	private final boolean ignoreSurroundingSpaces;
+	private final boolean ignoreEmptyLines;
+	private final Map<String, Integer> headerMap;
+	/** number of values kept per record */
+	private int columnLimit = Integer.MAX_VALUE;
+
+	private char[] buffer;
+	private int position;
+	private int limit;
+	private boolean eof;
+	private long lineNumber = 1;
+	private final CharArraySequence bufferChars = new CharArraySequence();
+	private char[] scratch = new char[256];
+	private int scratchLength;
+	private final CharArraySequence scratchChars = new CharArraySequence();
+
+	private int size;
+	private int[] starts = new int[16];
+	private int[] ends = new int[16];
+	/** true if the value is in the scratch buffer */
+	private boolean[] scratched = new boolean[16];
+	private Object[] whereValues;
+
+	/**
+	 * @param reader the reader, not closed
+	 * @param format the format
+	 * @throws IllegalArgumentException if the format uses an unsupported option
+	 */
+	Tokenizer(Reader reader, CSVFormat format) {
+		this(reader, format, BUFFER_SIZE);
+	}
+
+	Tokenizer(Reader reader, CSVFormat format, int bufferSize) {
+		this.reader = reader;
+		if(format.getDelimiterString().length() != 1) {
+			throw new IllegalArgumentException("multi-character delimiter not supported: " + format.getDelimiterString());
+		}
+		if(format.isNullStringSet()) {
+			throw new IllegalArgumentException("null string not supported");
+		}
+		this.delimiter = format.getDelimiterString().charAt(0);
+		this.hasQuote = format.isQuoteCharacterSet();
+		this.quote = hasQuote ? format.getQuoteCharacter() : 0;
+		this.hasEscape = format.isEscapeCharacterSet();
+		this.escape = hasEscape ? format.getEscapeCharacter() : 0;
+		this.hasComment = format.isCommentMarkerSet();
+		this.comment = hasComment ? format.getCommentMarker() : 0;
+		this.trim = format.getTrim();
+		this.ignoreSurroundingSpaces = format.getIgnoreSurroundingSpaces();
+		this.ignoreEmptyLines = format.getIgnoreEmptyLines();
+		this.buffer = new char[bufferSize];
+		this.headerMap = headerMap(format);
+	}
+
+	private Map<String, Integer> headerMap(CSVFormat format) {
+		String[] header = format.getHeader();
+		if(header == null) {
+			return null;
+		}
+		if(header.length == 0) {
+			//first record
+			header = next() ? toArray() : new String[0];
+		} else if(format.getSkipHeaderRecord()) {
+			next();
+		}
+		Map<String, Integer> map = format.getIgnoreHeaderCase() ? new TreeMap<>(String.CASE_INSENSITIVE_ORDER) : new HashMap<>();
+		for(int i = 0 ; i < header.length ; ++i) {
+			if(header[i] != null) map.put(header[i], i);
+		}
+		return Collections.unmodifiableMap(map);
+	}
+
+	/**
+	 * @return a copy of the values of the current record
+	 */
+	String[] toArray() {
+		String[] values = new String[size];
+		for(int i = 0 ; i < size ; ++i) values[i] = get(i);
+		return values;
+	}
+
+	/**
+	 * @return the header names and indexes, null if the format has no header
+	 */
+	Map<String, Integer> getHeaderMap() {
+		return headerMap;
+	}
+
+	/**
+	 * Sets the number of values kept per record : the next values are scanned up to the end of the record
+	 * without being copied nor recorded.
+	 * @param columnLimit the number of values, at least 1
+	 */
+	void setColumnLimit(int columnLimit) {
+		this.columnLimit = Math.max(1, columnLimit);
+	}
+
+	/**
+	 * Reads the next record
+	 * @return false at the end of the input
+	 */
+	boolean next() {
+		for(;;) {
+			int status = scan();
+			switch(status) {
+			case RECORD:
+				bufferChars.set(buffer, limit);
+				scratchChars.set(scratch, scratchLength);
+				return true;
+			case SKIP:
+				break;
+			case END:
+				size = 0;
+				return false;
+			default:
+				fill();
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Compacts the buffer from the current record, grows it if full and reads more characters
+	 */
+	private void fill() {
+		if(position > 0) {
+			System.arraycopy(buffer, position, buffer, 0, limit - position);
+			limit -= position;
+			position = 0;
+		}
+		if(limit == buffer.length) {
+			buffer = Arrays.copyOf(buffer, buffer.length * 2);
+		}
+		try {
+			int n = reader.read(buffer, limit, buffer.length - limit);
+			if(n < 0) {
+				eof = true;
+			} else {
+				limit += n;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Scans a record from the position
+	 * @return RECORD, SKIP for an ignored line, END or MORE if the record is cut by the end of the buffer
+	 */
+	private int scan() {
+		final char[] buffer = this.buffer;
+		final int limit = this.limit;
+		int p = position;
+		size = 0;
+		scratchLength = 0;
+		if(p >= limit) {
+			return eof ? END : MORE;
+		}
+		char c = buffer[p];
+		if((ignoreEmptyLines && (c == '\n' || c == '\r')) || (hasComment && c == comment)) {
+			//skip the line
+			while(p < limit && buffer[p] != '\n' && buffer[p] != '\r') ++p;
+			int e = endOfLine(p);
+			if(e < 0) return MORE;
+			++lineNumber;
+			position = e;
+			return SKIP;
+		}
+		long lines = 0;
+		for(;;) {
+			if(ignoreSurroundingSpaces) {
+				while(p < limit && isWhitespace(buffer[p])) ++p;
+				if(p >= limit && !eof) return MORE;
+			}
+			int start = p;
+			int end;
+			boolean copy = false;
+			//false past the column limit : the value is only scanned
+			boolean keep = size < columnLimit;
+			int scratchStart = scratchLength;
+			if(hasQuote && p < limit && buffer[p] == quote) {
+				//quoted value
+				start = ++p;
+				for(;;) {
+					if(p >= limit) {
+						if(eof) throw error("EOF reached before encapsulated token finished");
+						return MORE;
+					}
+					c = buffer[p];
+					if(c == quote) {
+						if(p + 1 >= limit && !eof) return MORE;
+						if(p + 1 < limit && buffer[p + 1] == quote) {
+							//doubled quote
+							if(keep) {
+								if(!copy) {
+									copy = true;
+									append(buffer, start, p);
+								}
+								append(quote);
+							}
+							p += 2;
+							continue;
+						}
+						end = p++;
+						break;
+					}
+					if(hasEscape && c == escape) {
+						if(p + 1 >= limit) {
+							if(eof) throw error("EOF whilst processing escape sequence");
+							return MORE;
+						}
+						if(keep) {
+							if(!copy) {
+								copy = true;
+								append(buffer, start, p);
+							}
+							unescape(buffer[p + 1]);
+						}
+						p += 2;
+						continue;
+					}
+					if(c == '\n' || (c == '\r' && (p + 1 >= limit || buffer[p + 1] != '\n'))) ++lines;
+					if(copy) append(c);
+					++p;
+				}
+				//only whitespaces up to the delimiter
+				while(p < limit && buffer[p] != delimiter && buffer[p] != '\n' && buffer[p] != '\r') {
+					if(!Character.isWhitespace(buffer[p])) {
+						throw error("invalid char between encapsulated token and delimiter");
+					}
+					++p;
+				}
+			} else {
+				//simple value
+				for(;;) {
+					if(p >= limit) {
+						if(!eof) return MORE;
+						break;
+					}
+					c = buffer[p];
+					if(c == delimiter || c == '\n' || c == '\r') break;
+					if(hasEscape && c == escape) {
+						if(p + 1 >= limit) {
+							if(eof) throw error("EOF whilst processing escape sequence");
+							return MORE;
+						}
+						if(keep) {
+							if(!copy) {
+								copy = true;
+								append(buffer, start, p);
+							}
+							unescape(buffer[p + 1]);
+						}
+						p += 2;
+						continue;
+					}
+					if(copy) append(c);
+					++p;
+				}
+				end = p;
+				if(ignoreSurroundingSpaces) {
+					if(copy) {
+						while(scratchLength > scratchStart && Character.isWhitespace(scratch[scratchLength - 1])) --scratchLength;
+					} else {
+						while(end > start && Character.isWhitespace(buffer[end - 1])) --end;
+					}
+				}
+			}
+			if(copy) {
+				add(scratchStart, scratchLength, true);
+			} else if(keep) {
+				add(start, end, false);
+			}
+			if(p >= limit && !eof) return MORE;
+			if(p < limit && buffer[p] == delimiter) {
+				++p;
+				continue;
+			}
+			//end of line or of input
+			int e = endOfLine(p);
+			if(e < 0) return MORE;
+			lineNumber += lines + 1;
+			position = e;
+			return RECORD;
+		}
+	}
+
+	/**
+	 * @return the index after the line separator at p, p at the end of input, -1 if more characters are needed
+	 */
+	private int endOfLine(int p) {
+		if(p >= limit) return eof ? p : -1;
+		if(buffer[p] == '\r') {
+			if(p + 1 >= limit) return eof ? p + 1 : -1;
+			return buffer[p + 1] == '\n' ? p + 2 : p + 1;
+		}
+		return p + 1;
+	}
+
+	private boolean isWhitespace(char c) {
+		return c != delimiter && c != '\n' && c != '\r' && Character.isWhitespace(c);
+	}
+
+	private void unescape(char c) {
+		switch(c) {
+		case 'r':
+			append('\r');
+			break;
+		case 'n':
+			append('\n');
+			break;
+		case 't':
+			append('\t');
+			break;
+		case 'b':
+			append('\b');
+			break;
+		case 'f':
+			append('\f');
+			break;
+		case '\r':
+		case '\n':
+		case '\t':
+		case '\b':
+		case '\f':
+			append(c);
+			break;
+		default:
+			if(c == delimiter || c == escape || (hasQuote && c == quote) || (hasComment && c == comment)) {
+				append(c);
+			} else {
+				//not an escape sequence : kept as is
+				append(escape);
+				append(c);
+			}
+		}
+	}
+
+	private void append(char c) {
+		if(scratchLength == scratch.length) {
+			scratch = Arrays.copyOf(scratch, scratch.length * 2);
+		}
+		scratch[scratchLength++] = c;
+	}
+
+	private void append(char[] chars, int start, int end) {
+		int n = end - start;
+		if(scratchLength + n > scratch.length) {
+			scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, scratchLength + n));
+		}
+		System.arraycopy(chars, start, scratch, scratchLength, n);
+		scratchLength += n;
+	}
+
+	private void add(int start, int end, boolean copy) {
+		if(trim) {
+			char[] chars = copy ? scratch : buffer;
+			while(start < end && chars[start] <= ' ') ++start;
+			while(end > start && chars[end - 1] <= ' ') --end;
+		}
+		if(size == starts.length) {
+			starts = Arrays.copyOf(starts, size * 2);
+			ends = Arrays.copyOf(ends, size * 2);
+			scratched = Arrays.copyOf(scratched, size * 2);
+		}
+		starts[size] = start;
+		ends[size] = end;
+		scratched[size] = copy;
+		++size;
+	}
+
+	private IllegalStateException error(String message) {
+		return new IllegalStateException(message + " at line " + lineNumber);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public CharSequence chars(int i) {
+		return scratched[i] ? scratchChars : bufferChars;
+	}
+
+	@Override
+	public int start(int i) {
+		return starts[i];
+	}
+
+	@Override
+	public int end(int i) {
+		return ends[i];
+	}
+
+	@Override
+	public String get(int i) {
+		return new String(scratched[i] ? scratch : buffer, starts[i], ends[i] - starts[i]);
+	}
+
+	@Override
+	public Object[] getWhereValues() {
+		return whereValues;
+	}
+
+	@Override
+	public void setWhereValues(Object[] whereValues) {
+		this.whereValues = whereValues;
+	}
+}
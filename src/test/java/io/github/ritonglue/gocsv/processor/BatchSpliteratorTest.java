@@ -0,0 +1,54 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+
+public class BatchSpliteratorTest {
+
+	@Test
+	public void testParallel() throws IOException {
+		String csv = IntStream.range(0, 10_000).mapToObj(i -> i + ",name" + i + "\r\n").collect(Collectors.joining());
+		for(ParserType parserType : ParserType.values()) {
+			CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.ORDER).parser(parserType).build();
+			List<Integer> list = engine.parseAsStream(new StringReader(csv), CSVFormat.DEFAULT)
+				.parallel().map(o -> o.id).collect(Collectors.toList());
+			assertEquals(IntStream.range(0, 10_000).boxed().collect(Collectors.toList()), list);
+			assertEquals(5_000, engine.parseAsStream(new StringReader(csv), CSVFormat.DEFAULT)
+				.parallel().filter(o -> o.id % 2 == 0).count());
+		}
+	}
+
+	@Test
+	public void testSplit() throws IOException {
+		String csv = IntStream.range(0, 1_000).mapToObj(i -> i + ",x\r\n").collect(Collectors.joining());
+		CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.ORDER).build();
+		Spliterator<P1> spliterator = engine.parseAsStream(new StringReader(csv), CSVFormat.DEFAULT).spliterator();
+		Spliterator<P1> batch = spliterator.trySplit();
+		assertTrue(batch.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+		assertEquals(BatchSpliterator.BATCH_UNIT, batch.getExactSizeIfKnown());
+		Spliterator<P1> next = spliterator.trySplit();
+		assertEquals(2 * BatchSpliterator.BATCH_UNIT, next.getExactSizeIfKnown());
+		int[] first = new int[1];
+		batch.tryAdvance(o -> first[0] = o.id);
+		assertEquals(0, first[0]);
+	}
+
+	public static class P1 {
+		@CSVBinding(order = 0)
+		int id;
+		@CSVBinding(order = 1)
+		String name;
+	}
+}
@@ -0,0 +1,63 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.convert.BigDecimalConverter;
+import io.github.ritonglue.gocsv.convert.ConverterException;
+
+public class BigDecimalConverterTest {
+	private static final String[] CORPUS = {"0", "-0", "+0", "-0.00", "007", "1.", ".5", ".", "-", "1.2.3", "1e3", "1E-7", "12,5"
+		, "999999999999999999", "9999999999999999999", "-123456789.123456789", "0.000000000000000000001", "١"};
+
+	@Test
+	public void testSameAsBigDecimal() {
+		BigDecimalConverter converter = new BigDecimalConverter();
+		Random random = new Random(42);
+		for(int i = 0 ; i < CORPUS.length + 20_000 ; ++i) {
+			String text = i < CORPUS.length ? CORPUS[i] : random(random);
+			Object expected;
+			try {
+				expected = text.isEmpty() ? null : new BigDecimal(text);
+			} catch(NumberFormatException e) {
+				expected = e.getClass();
+			}
+			Object actual;
+			try {
+				actual = converter.getAsObject(" x" + text + "x ", 2, text.length() + 2);
+			} catch(ConverterException e) {
+				actual = NumberFormatException.class;
+			}
+			assertEquals(text, expected, actual);
+		}
+	}
+
+	@Test
+	public void testScale() {
+		BigDecimalConverter converter = new BigDecimalConverter(2, RoundingMode.HALF_UP);
+		assertEquals("12.50", converter.getAsString(new BigDecimal("12.5")));
+		assertEquals("12.00", converter.getAsString(new BigDecimal("12")));
+		assertEquals("1200.00", converter.getAsString(new BigDecimal("1.2E+3")));
+		assertEquals("0.00", converter.getAsString(new BigDecimal("1E-7")));
+		assertEquals("-12.35", converter.getAsString(new BigDecimal("-12.345")));
+		assertEquals("12.34", converter.getAsString(new BigDecimal("12.34")));
+		assertEquals("1E-7", new BigDecimalConverter().getAsString(new BigDecimal("1E-7")));
+	}
+
+	private static String random(Random random) {
+		StringBuilder sb = new StringBuilder();
+		if(random.nextInt(3) == 0) sb.append(random.nextBoolean() ? '-' : '+');
+		int n = random.nextInt(22);
+		int dot = random.nextInt(n + 2);
+		for(int i = 0 ; i < n ; ++i) {
+			if(i == dot) sb.append('.');
+			sb.append((char) ('0' + random.nextInt(10)));
+		}
+		return sb.toString();
+	}
+}
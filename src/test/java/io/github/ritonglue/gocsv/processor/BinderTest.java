@@ -0,0 +1,148 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+import io.github.ritonglue.gocsv.annotation.PostLoad;
+import io.github.ritonglue.gocsv.annotation.PrePersist;
+import io.github.ritonglue.gocsv.annotation.Transient;
+
+public class BinderTest {
+
+	@Test
+	public void testGenerated() throws Exception {
+		Class<?> clazz = binderClass(P1.class);
+		Binder<?> binder = (Binder<?>) clazz.getDeclaredConstructor().newInstance();
+		assertEquals(P1.class, binder.type());
+		assertEquals(2, binder.columns().size());
+		assertNotNull(binder.callback(CallbackEnum.POST_LOAD));
+	}
+
+	@Test
+	public void testPrivateField() throws IOException {
+		//set directly as the reflection does, not through the setter
+		assertNotNull(binderClass(P2.class));
+		assertNotNull(ClassMetadata.of(P2.class).getBinder());
+		CSVEngine<P2> engine = CSVEngine.builder(P2.class).mode(Mode.ORDER).build();
+		List<P2> list = engine.parseAsStream(new StringReader("hello,2\r\n"), CSVFormat.DEFAULT)
+			.collect(Collectors.toList());
+		assertEquals("hello", list.get(0).name);
+		assertEquals(2, list.get(0).count);
+
+		StringWriter writer = new StringWriter();
+		engine.write(list, writer, CSVFormat.DEFAULT);
+		assertEquals("hello,2\r\n", writer.toString());
+	}
+
+	@Test
+	public void testReflectiveFallback() throws IOException {
+		//private life cycle method : no binder
+		assertNull(binderClass(P3.class));
+		assertNull(ClassMetadata.of(P3.class).getBinder());
+		for(boolean codegen : new boolean[] {false, true}) {
+			CSVEngine<P3> engine = CSVEngine.builder(P3.class).mode(Mode.NAMED).codegen(codegen).build();
+			List<P3> list = engine.parseAsStream(new StringReader("name,age\r\nJohn,23\r\n"), CSVFormat.DEFAULT)
+				.collect(Collectors.toList());
+			assertEquals("John", list.get(0).name);
+			assertEquals(23, list.get(0).age);
+			assertTrue(list.get(0).loaded);
+
+			StringWriter writer = new StringWriter();
+			engine.write(list, writer, CSVFormat.DEFAULT);
+			assertEquals("name,age\r\nJohn,23\r\n", writer.toString());
+		}
+	}
+
+	private static Class<?> binderClass(Class<?> clazz) {
+		try {
+			return Class.forName(clazz.getName().replace('$', '_') + Binder.SUFFIX);
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+	}
+
+	@Test
+	public void testParseWrite() throws IOException {
+		String csv = "name,age\r\nJohn,23\r\n";
+		CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.NAMED).build();
+		List<P1> list = engine.parseAsStream(new StringReader(csv), CSVFormat.DEFAULT)
+			.collect(Collectors.toList());
+		assertEquals(1, list.size());
+		P1 p = list.get(0);
+		assertEquals("John", p.name);
+		assertEquals(23, p.age);
+		assertTrue(p.loaded);
+
+		StringWriter writer = new StringWriter();
+		engine.write(list, writer, CSVFormat.DEFAULT);
+		assertEquals("name,age\r\nJOHN,23\r\n", writer.toString());
+	}
+
+	public static class P1 {
+		@CSVBinding(order = 0)
+		String name;
+		@CSVBinding(order = 1)
+		int age;
+		@Transient
+		boolean loaded;
+
+		@PostLoad
+		void postLoad() {
+			loaded = true;
+		}
+
+		@PrePersist
+		void prePersist() {
+			name = name.toUpperCase();
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+	}
+
+	public static class P2 {
+		@CSVBinding(order = 0)
+		private String name;
+		@CSVBinding(order = 1)
+		private int count;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name.toUpperCase();
+		}
+	}
+
+	public static class P3 {
+		@CSVBinding(order = 0)
+		private String name;
+		@CSVBinding(order = 1)
+		int age;
+		@Transient
+		boolean loaded;
+
+		@PostLoad
+		private void postLoad() {
+			loaded = true;
+		}
+	}
+}
@@ -4,6 +4,7 @@ import static io.github.ritonglue.gocsv.processor.CSVConverterTest.toList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.io.Reader;
@@ -15,10 +16,13 @@ import java.math.BigInteger;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Currency;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
@@ -978,4 +982,94 @@ public class CSVEngineTest {
 			assertEquals(csvExpected, tmp);
 		}
 	}
+
+	@Test
+	public void testMissingHeaderOnce() throws IOException {
+		String csv = "a\r\nx\r\ny\r\n";
+		int[] count = new int[2];
+		CSVEngine<A8> engine = CSVEngine.builder(A8.class).mode(Mode.NAMED)
+			.callback(new CallbackIndex() {
+				@Override
+				public void missingIndex(AnnotationStorer storer) {
+					count[0]++;
+				}
+				@Override
+				public void outOfRangeIndex(AnnotationStorer storer) {
+					count[1]++;
+				}
+			})
+			.build();
+		List<A8> list = toList(engine.parse(new StringReader(csv), CSVFormat.DEFAULT));
+		assertEquals(2, list.size());
+		assertEquals(1, count[0]);
+		assertEquals(0, count[1]);
+	}
+
+	public static class A8 {
+		@CSVBinding(header = "a", order = 0)
+		String a;
+		@CSVBinding(header = "b", order = 1)
+		String b;
+	}
+
+	@Test
+	public void testSetterException() throws IOException {
+		for(boolean codegen : new boolean[] {false, true}) {
+			CSVEngine<A7> engine = CSVEngine.builder(A7.class).mode(Mode.ORDER).codegen(codegen).build();
+			//primitive and object setters
+			for(String csv : new String[] {"-1,a\r\n", "1,bad\r\n"}) {
+				try {
+					toList(engine.parse(new StringReader(csv), CSVFormat.DEFAULT));
+					fail();
+				} catch(RuntimeException e) {
+					assertEquals(RuntimeException.class, e.getClass());
+					assertEquals(IllegalStateException.class, e.getCause().getClass());
+				}
+			}
+			//the converter exceptions are not wrapped
+			try {
+				toList(engine.parse(new StringReader("x,a\r\n"), CSVFormat.DEFAULT));
+				fail();
+			} catch(ConverterException e) {
+			}
+		}
+	}
+
+	@Access(AccessType.PROPERTY)
+	public static class A7 {
+		private int number;
+		private String text;
+
+		@CSVBinding(order = 0)
+		public int getNumber() {
+			return number;
+		}
+
+		public void setNumber(int number) {
+			if(number < 0) throw new IllegalStateException("negative");
+			this.number = number;
+		}
+
+		@CSVBinding(order = 1)
+		public String getText() {
+			return text;
+		}
+
+		public void setText(String text) {
+			if("bad".equals(text)) throw new IllegalStateException("bad");
+			this.text = text;
+		}
+	}
+
+	@Test
+	public void testParseInBatches() throws IOException {
+		String csv = "val1,val3\r\n1,a\r\n2,b\r\n3,c\r\n4,d\r\n5,e\r\n";
+		for(ParserType parserType : ParserType.values()) {
+			CSVEngine<P8> engine = CSVEngine.builder(P8.class).mode(Mode.NAMED).parser(parserType).build();
+			List<String> batches = new ArrayList<>();
+			engine.parseInBatches(new StringReader(csv), CSVFormat.DEFAULT, 2,
+				batch -> batches.add(batch.stream().map(P8::getVal3).collect(Collectors.joining())));
+			assertEquals(Arrays.asList("ab", "cd", "e"), batches);
+		}
+	}
 }
@@ -0,0 +1,80 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static io.github.ritonglue.gocsv.processor.CSVConverterTest.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+import io.github.ritonglue.gocsv.annotation.Convert;
+import io.github.ritonglue.gocsv.convert.BigDecimalConverter;
+import io.github.ritonglue.gocsv.convert.CachingConverter;
+
+public class CachingConverterTest {
+	private static final String CSV = "2024-01-02,1.5\r\n2024-01-03,2\r\n2024-01-02,1.5\r\n,\r\n";
+
+	@Test
+	public void testAnnotation() throws IOException {
+		for(ParserType parserType : ParserType.values()) {
+			CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.ORDER).parser(parserType).build();
+			List<P1> list = toList(engine.parse(new StringReader(CSV), CSVFormat.DEFAULT));
+			assertEquals(LocalDate.of(2024, 1, 2), list.get(0).date);
+			assertSame(list.get(0).date, list.get(2).date);
+			assertNull(list.get(3).date);
+			assertEquals(new BigDecimal("1.5"), list.get(2).amount);
+			CachingConverter<?> converter = (CachingConverter<?>) engine.getConverter("date");
+			assertTrue(converter.getHitCount() >= 1);
+			assertTrue(converter.size() <= 3);
+		}
+	}
+
+	@Test
+	public void testBuilder() throws IOException {
+		CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.ORDER).parser(ParserType.NATIVE)
+			.cache("date", 0).cache("amount", 10).build();
+		List<P1> list = toList(engine.parse(new StringReader(CSV), CSVFormat.DEFAULT));
+		assertSame(list.get(0).amount, list.get(2).amount);
+		assertFalse(engine.getConverter("date") instanceof CachingConverter);
+		CachingConverter<?> converter = (CachingConverter<?>) engine.getConverter("amount");
+		assertEquals(1, converter.getHitCount());
+		assertEquals(3, converter.getMissCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknown() {
+		CSVEngine.builder(P1.class).mode(Mode.ORDER).cache("z", 10).build();
+	}
+
+	@Test
+	public void testEviction() {
+		CachingConverter<BigDecimal> converter = new CachingConverter<>(new BigDecimalConverter(), 2);
+		converter.getAsObject("1");
+		converter.getAsObject("2");
+		converter.getAsObject("1");
+		assertEquals(1, converter.getHitCount());
+		converter.getAsObject("3");
+		assertEquals(1, converter.getEvictionCount());
+		assertEquals(2, converter.size());
+		assertEquals(0.25, converter.getHitRatio(), 0);
+		assertEquals(new BigDecimal("2.5"), converter.getAsObject("x2.5x", 1, 4));
+	}
+
+	public static class P1 {
+		@CSVBinding(order = 0)
+		@Convert(cacheSize = 100)
+		LocalDate date;
+		@CSVBinding(order = 1)
+		BigDecimal amount;
+	}
+}
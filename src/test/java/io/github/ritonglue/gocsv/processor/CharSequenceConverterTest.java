@@ -0,0 +1,98 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.convert.BooleanConverter;
+import io.github.ritonglue.gocsv.convert.ConverterException;
+import io.github.ritonglue.gocsv.convert.CurrencyConverter;
+import io.github.ritonglue.gocsv.convert.DateTimeConverter;
+import io.github.ritonglue.gocsv.convert.DateTimeFormatConverter;
+import io.github.ritonglue.gocsv.convert.DoubleConverter;
+import io.github.ritonglue.gocsv.convert.EnumConverter;
+import io.github.ritonglue.gocsv.convert.IntegerConverter;
+import io.github.ritonglue.gocsv.convert.LongConverter;
+import io.github.ritonglue.gocsv.convert.ShortConverter;
+
+public class CharSequenceConverterTest {
+	private static final String LINE = "x; 12 ;-7;2.5;TRUE;  ;DAYS;EUR;2024-02-29;31/12/1974;40000";
+
+	private static int start(int field) {
+		int start = 0;
+		for(int i = 0 ; i < field ; ++i) start = LINE.indexOf(';', start) + 1;
+		return start;
+	}
+
+	private static int end(int field) {
+		int end = LINE.indexOf(';', start(field));
+		return end < 0 ? LINE.length() : end;
+	}
+
+	@Test
+	public void testNumber() {
+		IntegerConverter i = new IntegerConverter();
+		assertEquals(12, i.parseInt(LINE, start(1), end(1)));
+		assertEquals(Integer.valueOf(-7), i.getAsObject(LINE, start(2), end(2)));
+		assertNull(i.getAsObject(LINE, start(5), end(5)));
+		assertEquals(-7L, new LongConverter().parseLong(LINE, start(2), end(2)));
+		assertEquals(2.5, new DoubleConverter().parseDouble(LINE, start(3), end(3)), 0);
+		try {
+			i.parseInt(LINE, start(0), end(0));
+			fail();
+		} catch(ConverterException e) {
+			assertEquals("x", e.getMessage());
+		}
+		try {
+			new ShortConverter().getAsObject(LINE, start(10), end(10));
+			fail();
+		} catch(ConverterException e) {
+		}
+	}
+
+	@Test
+	public void testBoolean() {
+		BooleanConverter b = new BooleanConverter();
+		assertTrue(b.parseBoolean(LINE, start(4), end(4)));
+		assertFalse(b.parseBoolean(LINE, start(0), end(0)));
+		assertNull(b.getAsObject(LINE, start(5), end(5)));
+	}
+
+	@Test
+	public void testEnumCurrency() {
+		assertEquals(TimeUnit.DAYS, new EnumConverter<>(TimeUnit.class).getAsObject(LINE, start(6), end(6)));
+		try {
+			new EnumConverter<>(TimeUnit.class).getAsObject(LINE, start(7), end(7));
+			fail();
+		} catch(ConverterException e) {
+		}
+		CurrencyConverter c = new CurrencyConverter();
+		Currency eur = c.getAsObject(LINE, start(7), end(7));
+		assertEquals(Currency.getInstance("EUR"), eur);
+		assertSame(eur, c.getAsObject(LINE, start(7), end(7)));
+	}
+
+	@Test
+	public void testDate() {
+		assertEquals(LocalDate.of(2024, 2, 29), DateTimeFormatConverter.of(DateTimeFormatter.ISO_LOCAL_DATE, LocalDate::from)
+			.getAsObject(LINE, start(8), end(8)));
+		assertEquals(LocalDate.of(1974, 12, 31), new DateTimeConverter("dd/MM/yyyy", null, LocalDate.class)
+			.getAsObject(LINE, start(9), end(9)));
+		try {
+			DateTimeFormatConverter.of(DateTimeFormatter.ISO_LOCAL_TIME, LocalTime::from).getAsObject(LINE, start(8), end(8));
+			fail();
+		} catch(ConverterException e) {
+		}
+	}
+}
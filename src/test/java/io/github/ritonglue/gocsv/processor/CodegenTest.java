@@ -0,0 +1,87 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static io.github.ritonglue.gocsv.processor.CSVConverterTest.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+
+public class CodegenTest {
+
+	@Test
+	public void testOrder() throws IOException {
+		String csv = "true,true,,1,-1,,2,-2,,3,-3,,c,C,,127,-127,,1.1,-1.1,,2.2,-2.2,,99.9,,123,,USD";
+		CSVEngine<CSVEngineTest.Pojo> engine = CSVEngine.builder(CSVEngineTest.Pojo.class)
+				.mode(Mode.ORDER)
+				.codegen(true)
+				.build();
+		List<CSVEngineTest.Pojo> list = toList(engine.parse(new StringReader(csv), CSVFormat.DEFAULT));
+		assertEquals(1, list.size());
+		CSVEngineTest.Pojo p = list.get(0);
+		assertEquals(2, p.getIntP());
+		assertNull(p.getIntN());
+		assertEquals(new BigDecimal("99.9"), p.getBigDecimal());
+
+		StringWriter writer = new StringWriter();
+		engine.write(list, writer, CSVFormat.DEFAULT);
+		assertEquals(csv + "\r\n", writer.toString());
+	}
+
+	@Test
+	public void testProperty() throws IOException {
+		String csv = "val1,val2\r\n1,2\r\n";
+		CSVEngine<CSVEngineTest.P6> engine = CSVEngine.builder(CSVEngineTest.P6.class)
+				.mode(Mode.NAMED)
+				.codegen(true)
+				.build();
+		List<CSVEngineTest.P6> list = toList(engine.parse(new StringReader(csv), CSVFormat.DEFAULT));
+		assertEquals(1, list.size());
+		assertEquals(1, list.get(0).getVal1());
+		assertEquals(Integer.valueOf(2), list.get(0).getVal2());
+
+		StringWriter writer = new StringWriter();
+		engine.write(list, writer, CSVFormat.DEFAULT);
+		assertEquals(csv, writer.toString());
+	}
+
+	@Test
+	public void testMissing() throws IOException {
+		String csv = "a\r\nx\r\ny\r\n";
+		int[] missing = new int[1];
+		CSVEngine<P1> engine = CSVEngine.builder(P1.class)
+				.mode(Mode.NAMED)
+				.codegen(true)
+				.callback(new CallbackIndex() {
+					@Override
+					public void missingIndex(AnnotationStorer storer) {
+						assertEquals("b", storer.getHeader());
+						missing[0]++;
+					}
+					@Override
+					public void outOfRangeIndex(AnnotationStorer storer) {
+					}
+				})
+				.build();
+		List<P1> list = toList(engine.parse(new StringReader(csv), CSVFormat.DEFAULT));
+		assertEquals(2, list.size());
+		assertEquals("y", list.get(1).a);
+		assertNull(list.get(1).b);
+		assertEquals(1, missing[0]);
+	}
+
+	public static class P1 {
+		@CSVBinding(order = 0)
+		private String a;
+		@CSVBinding(order = 1)
+		private String b;
+	}
+}
@@ -0,0 +1,81 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+
+public class ColumnBatchTest {
+
+	@Test
+	public void testColumns() throws IOException {
+		String csv = "id,amount,count,city,day\r\n"
+			+ "1,2.5,10,Paris,2024-01-01\r\n"
+			+ "2,,20,Lyon,\r\n"
+			+ ",1.5,,Lyon,2024-01-03\r\n";
+		for(ParserType parserType : ParserType.values()) {
+			CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.NAMED).parser(parserType).build();
+			List<String> batches = new ArrayList<>();
+			List<List<String>> dictionaries = new ArrayList<>();
+			double[] total = new double[1];
+			engine.parseColumns(new StringReader(csv), CSVFormat.DEFAULT, 2, batch -> {
+				ColumnBatch.DoubleVector amount = batch.getDoubles("amount");
+				for(int i = 0 ; i < batch.size() ; ++i) total[0] += amount.get(i);
+				ColumnBatch.StringVector city = batch.getStrings("city");
+				StringBuilder sb = new StringBuilder();
+				for(int i = 0 ; i < batch.size() ; ++i) {
+					sb.append(batch.getInts("id").getObject(i)).append('|')
+						.append(batch.getLongs("count").getObject(i)).append('|')
+						.append(city.getCodes()[i]).append('|')
+						.append(batch.getVector("day").getObject(i)).append(' ');
+				}
+				batches.add(sb.toString());
+				dictionaries.add(new ArrayList<>(city.getDictionary()));
+			});
+			//one dictionary per batch
+			assertEquals(Arrays.asList(Arrays.asList("Paris", "Lyon"), Arrays.asList("Lyon")), dictionaries);
+			assertEquals(Arrays.asList("1|10|0|2024-01-01 2|20|1|null ", "null|null|0|2024-01-03 "), batches);
+			assertEquals(4.0, total[0], 0);
+		}
+	}
+
+	@Test
+	public void testNulls() throws IOException {
+		CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.ORDER).build();
+		engine.parseColumns(new StringReader(",,,x\r\n5"), CSVFormat.DEFAULT, 10, batch -> {
+			assertEquals(2, batch.size());
+			ColumnBatch.IntVector id = batch.getInts("id");
+			assertTrue(id.isNull(0));
+			assertFalse(id.isNull(1));
+			assertEquals(5, id.get(1));
+			assertEquals(1L, id.getNulls()[0]);
+			assertNull(batch.getStrings("city").get(1));
+			assertEquals("x", batch.getStrings("city").get(0));
+		});
+	}
+
+	public static class P1 {
+		@CSVBinding(header = "id", order = 0)
+		Integer id;
+		@CSVBinding(header = "amount", order = 1)
+		double amount;
+		@CSVBinding(header = "count", order = 2)
+		Long count;
+		@CSVBinding(header = "city", order = 3)
+		String city;
+		@CSVBinding(header = "day", order = 4)
+		LocalDate day;
+	}
+}
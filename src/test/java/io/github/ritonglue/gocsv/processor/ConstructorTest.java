@@ -0,0 +1,113 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+import io.github.ritonglue.gocsv.annotation.CSVConstructor;
+import io.github.ritonglue.gocsv.annotation.Transient;
+
+public class ConstructorTest {
+
+	@Test
+	public void testConstructor() throws IOException {
+		String csv = "name,age\r\nJohn,23\r\nJane,\r\n";
+		CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.NAMED).build();
+		List<P1> list = engine.parseAsStream(new StringReader(csv), CSVFormat.DEFAULT)
+			.collect(Collectors.toList());
+		assertEquals(2, list.size());
+		P1 p = list.get(0);
+		assertEquals("John", p.getName());
+		assertEquals(Integer.valueOf(23), p.getAge());
+		assertEquals(0, p.getCount());
+		assertNull(list.get(1).getAge());
+
+		StringWriter writer = new StringWriter();
+		engine.write(list, writer, CSVFormat.DEFAULT);
+		assertEquals(csv, writer.toString());
+	}
+
+	public static class P1 {
+		@CSVBinding(order = 0)
+		private final String name;
+		@CSVBinding(order = 1)
+		private final Integer age;
+		@Transient
+		private final int count;
+
+		@CSVConstructor
+		public P1(String name, Integer age, int count) {
+			this.name = name;
+			this.age = age;
+			this.count = count;
+		}
+
+		public String getName() {
+			return name;
+		}
+		public Integer getAge() {
+			return age;
+		}
+		public int getCount() {
+			return count;
+		}
+	}
+
+	@Test
+	public void testEmptyPrimitive() throws IOException {
+		CSVEngine<P3> engine = CSVEngine.builder(P3.class).mode(Mode.NAMED).build();
+		List<P3> list = engine.parseAsStream(new StringReader("name\r\nJohn\r\n"), CSVFormat.DEFAULT)
+			.collect(Collectors.toList());
+		//absent column : zero
+		assertEquals(0, list.get(0).age);
+		try {
+			engine.parseAsStream(new StringReader("name,age\r\nJohn,\r\n"), CSVFormat.DEFAULT)
+				.collect(Collectors.toList());
+			fail("empty primitive");
+		} catch(RuntimeException e) {
+			assertTrue(e.getCause() instanceof NullPointerException);
+		}
+	}
+
+	public static class P3 {
+		@CSVBinding(order = 0)
+		private final String name;
+		@CSVBinding(order = 1)
+		private final int age;
+
+		@CSVConstructor
+		public P3(String name, int age) {
+			this.name = name;
+			this.age = age;
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testBadConstructor() {
+		CSVEngine.builder(P2.class).mode(Mode.NAMED).build();
+	}
+
+	public static class P2 {
+		private final String name;
+
+		@CSVConstructor
+		public P2(Integer name) {
+			this.name = String.valueOf(name);
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+}
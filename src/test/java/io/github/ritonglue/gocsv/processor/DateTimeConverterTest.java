@@ -14,13 +14,25 @@ import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.DateTimeException;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import org.apache.commons.csv.CSVFormat;
 import org.junit.Test;
 
 import io.github.ritonglue.gocsv.annotation.CSVBinding;
 import io.github.ritonglue.gocsv.annotation.Convert;
+import io.github.ritonglue.gocsv.convert.Converter;
+import io.github.ritonglue.gocsv.convert.ConverterException;
+import io.github.ritonglue.gocsv.convert.DefaultConverters;
 
 public class DateTimeConverterTest {
 
@@ -290,4 +302,96 @@ public class DateTimeConverterTest {
 			this.value = value;
 		}
 	}
+
+	@Test
+	public void testIsoSameAsFormatter() {
+		Random random = new Random(42);
+		String[] texts = {"2024-02-29", "2023-02-29", "0000-01-01", "9999-12-31", "2024-1-01", "+12024-01-01"
+			, "2024-01-02T10:15", "2024-01-02T10:15:30", "2024-01-02T10:15:30.5", "2024-01-02T10:15:30.123456789"
+			, "2024-01-02T24:00:00", "2024-01-02T23:59:60", "2024-01-02T10:15:30.", "2024-01-02T10:15:30.1234567890"
+			, "2024-01-02t10:15:30", "2024-01-02T10:15:30Z", "2024-01-02T10:15Z", "2024-01-02T10:15:30z"
+			, "2024-01-02T10:15:30+01:00", "2024-01-02T10:15:30-00:00", "2024-01-02T10:15:30+18:00"
+			, "2024-01-02T10:15:30+0100", "2024-01-02T10:15:30+01", "2024-01-02T10:15:30+01:00:30", "2024-01-02T10:15:30+1:00"
+			, "2024-01-02T10:15:30.000Z", "x024-01-02", "2024-01-02T", "", "Z", "-01:00"};
+		List<String> list = new ArrayList<>(Arrays.asList(texts));
+		String alphabet = "0123456789-:T.Z+";
+		for(int i = 0 ; i < 2000 ; ++i) {
+			char[] text = texts[random.nextInt(texts.length)].toCharArray();
+			if(text.length == 0) continue;
+			text[random.nextInt(text.length)] = alphabet.charAt(random.nextInt(alphabet.length()));
+			list.add(new String(text));
+		}
+		Map<Class<?>, DateTimeFormatter> formatters = Map.of(LocalDate.class, DateTimeFormatter.ISO_LOCAL_DATE
+			, LocalDateTime.class, DateTimeFormatter.ISO_LOCAL_DATE_TIME
+			, OffsetDateTime.class, DateTimeFormatter.ISO_OFFSET_DATE_TIME
+			, Instant.class, DateTimeFormatter.ISO_INSTANT);
+		for(Map.Entry<Class<?>, DateTimeFormatter> e : formatters.entrySet()) {
+			@SuppressWarnings("unchecked")
+			Converter<TemporalAccessor> converter = (Converter<TemporalAccessor>) DefaultConverters.getConverters().get(e.getKey());
+			for(String text : list) {
+				Object expected;
+				try {
+					expected = text.isEmpty() ? null : e.getValue().parse(text, query(e.getKey()));
+				} catch(DateTimeException ex) {
+					expected = ex.getClass();
+				}
+				Object actual;
+				try {
+					actual = converter.getAsObject(text);
+				} catch(ConverterException ex) {
+					actual = DateTimeParseException.class;
+				}
+				assertEquals(e.getKey() + " " + text, expected, actual);
+				if(actual instanceof TemporalAccessor) {
+					assertEquals(text, e.getValue().format((TemporalAccessor) actual), converter.getAsString((TemporalAccessor) actual));
+				}
+			}
+		}
+		for(int i = 0 ; i < 2000 ; ++i) {
+			long seconds = random.nextLong() % 253402300800L;
+			//trailing zeros
+			int p = (int) Math.pow(10, random.nextInt(10));
+			int nano = random.nextInt(1_000_000_000) / p * p;
+			Instant instant = Instant.ofEpochSecond(seconds, nano);
+			LocalDateTime dateTime = LocalDateTime.ofEpochSecond(seconds, nano, ZoneOffset.UTC);
+			OffsetDateTime offsetDateTime = OffsetDateTime.of(dateTime, ZoneOffset.ofTotalSeconds(random.nextInt(36000) / 60 * 60 * (random.nextBoolean() ? 1 : -1)));
+			for(TemporalAccessor value : new TemporalAccessor[] {instant, dateTime, dateTime.toLocalDate(), offsetDateTime}) {
+				@SuppressWarnings("unchecked")
+				Converter<TemporalAccessor> converter = (Converter<TemporalAccessor>) DefaultConverters.getConverters().get(value.getClass());
+				String text = formatters.get(value.getClass()).format(value);
+				assertEquals(text, converter.getAsString(value));
+				assertEquals(text, value, converter.getAsObject(text));
+			}
+		}
+	}
+
+	/**
+	 * ISO_INSTANT accepts an offset from Java 12 : same result as the formatter of the running JDK
+	 */
+	@Test
+	public void testInstantOffset() {
+		Converter<?> converter = DefaultConverters.getConverters().get(Instant.class);
+		for(String text : new String[] {"2024-01-01T00:00:00+01:00", "2024-01-01T00:00:00-00:00", "2024-01-01T00:00:00.5+05:30"}) {
+			Object expected;
+			try {
+				expected = DateTimeFormatter.ISO_INSTANT.parse(text, Instant::from);
+			} catch(DateTimeException e) {
+				expected = DateTimeException.class;
+			}
+			Object actual;
+			try {
+				actual = converter.getAsObject(text);
+			} catch(ConverterException e) {
+				actual = DateTimeException.class;
+			}
+			assertEquals(text, expected, actual);
+		}
+	}
+
+	private static TemporalQuery<?> query(Class<?> type) {
+		if(type == LocalDate.class) return LocalDate::from;
+		if(type == LocalDateTime.class) return LocalDateTime::from;
+		if(type == OffsetDateTime.class) return OffsetDateTime::from;
+		return Instant::from;
+	}
 }
@@ -0,0 +1,78 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static io.github.ritonglue.gocsv.processor.CSVConverterTest.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+import io.github.ritonglue.gocsv.convert.DedupStringConverter;
+import io.github.ritonglue.gocsv.convert.StringConverter;
+import io.github.ritonglue.gocsv.convert.StringDictionary;
+
+public class DedupTest {
+	private static final String CSV = "FR,a\r\nUS,b\r\nFR,c\r\n";
+
+	@Test
+	public void testAnnotation() throws IOException {
+		for(ParserType parserType : ParserType.values()) {
+			CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.ORDER).parser(parserType).build();
+			List<P1> list = toList(engine.parse(new StringReader(CSV), CSVFormat.DEFAULT));
+			assertEquals("FR", list.get(0).country);
+			assertSame(list.get(0).country, list.get(2).country);
+			assertNotSame(list.get(0).name, list.get(2).name);
+			assertTrue(engine.getConverter("name") instanceof StringConverter);
+			StringDictionary dictionary = ((DedupStringConverter) engine.getConverter("country")).getDictionary();
+			assertTrue(dictionary.getHitCount() >= 1);
+		}
+	}
+
+	@Test
+	public void testBuilder() throws IOException {
+		CSVEngine<P2> engine = CSVEngine.builder(P2.class).mode(Mode.ORDER).parser(ParserType.NATIVE).dedup(true).build();
+		List<P2> list = toList(engine.parse(new StringReader(CSV + CSV), CSVFormat.DEFAULT));
+		assertSame(list.get(0).name, list.get(3).name);
+		StringDictionary dictionary = ((DedupStringConverter) engine.getConverter("name")).getDictionary();
+		assertEquals(3, dictionary.size());
+	}
+
+	@Test
+	public void testDictionary() {
+		StringDictionary dictionary = new StringDictionary(3);
+		assertEquals(4, dictionary.getCapacity());
+		String line = "xabcx";
+		String abc = dictionary.get(line, 1, 4);
+		assertEquals("abc", abc);
+		assertSame(abc, dictionary.get("abc"));
+		assertEquals(1, dictionary.getHitCount());
+		assertEquals(1, dictionary.getMissCount());
+		//bounded
+		for(int i = 0 ; i < 100 ; ++i) assertEquals("v" + i, dictionary.get("v" + i));
+		assertEquals(4, dictionary.size());
+	}
+
+	public static class P1 {
+		@CSVBinding(order = 0, dedup = true)
+		String country;
+		@CSVBinding(order = 1)
+		String name;
+	}
+
+	/**
+	 * bound by reflection
+	 */
+	public static class P2 {
+		@CSVBinding(order = 0)
+		private String country;
+		@CSVBinding(order = 1)
+		String name;
+	}
+}
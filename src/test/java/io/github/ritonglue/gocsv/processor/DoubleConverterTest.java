@@ -0,0 +1,100 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.convert.ConverterException;
+import io.github.ritonglue.gocsv.convert.DoubleConverter;
+import io.github.ritonglue.gocsv.convert.FloatConverter;
+
+public class DoubleConverterTest {
+	private static final String[] CORPUS = {
+		"0", "-0", "+0", "0.0", "-0.0", ".5", "5.", "-.5e1", "1e0", "1E+2", "1e-2", "00012.3400", "1.5d", "1f", "0x1p3",
+		"NaN", "-Infinity", "", "-", ".", "e5", "1e", "1e+", "1.2.3", "1,5", "١", "1_000",
+		"9007199254740992", "9007199254740993", "9007199254740994", "9007199254740995",
+		"1e22", "1e23", "123456789012345678e-5", "1234567890123456789", "12345678901234567890",
+		"9999999999999999999", "18446744073709551615", "18446744073709551616e-10",
+		"1.7976931348623157e308", "1.7976931348623158e308", "1.7976931348623159e308", "1e309", "1e400",
+		"2.2250738585072014e-308", "2.2250738585072011e-308", "4.9e-324", "2.4703282292062327e-324",
+		"2.4703282292062328e-324", "1e-342", "1e-343", "1e-400", "1e99999999999", "1e-99999999999",
+		"3.4028235e38", "3.4028236e38", "1.17549435e-38", "1.4e-45", "7.0e-46", "16777216", "16777217", "16777219",
+		"0.1", "0.2", "0.3", "3.141592653589793", "2.718281828459045", "8.98846567431158e307",
+		"4.35679388713e-321", "1.00000005960464477539062499", "1.000000059604644775390625", "7.038531e-26",
+	};
+
+	@Test
+	public void testSameAsJdk() {
+		Random random = new Random(42);
+		List<String> list = new ArrayList<>(Arrays.asList(CORPUS));
+		for(int i = 0 ; i < 50_000 ; ++i) {
+			double d = Double.longBitsToDouble(random.nextLong());
+			float f = Float.intBitsToFloat(random.nextInt());
+			list.add(Double.toString(d));
+			list.add(Float.toString(f));
+			list.add(String.format(Locale.ROOT, "%." + random.nextInt(20) + "e", d));
+			list.add(new BigDecimal(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20)).toPlainString());
+			list.add(digits(random));
+		}
+		DoubleConverter doubleConverter = new DoubleConverter();
+		FloatConverter floatConverter = new FloatConverter();
+		for(String text : list) {
+			String line = " x" + text + "x ";
+			int start = 2;
+			int end = line.length() - 2;
+			Object expected;
+			Object actual;
+			try {
+				expected = text.isEmpty() ? null : Double.valueOf(Double.parseDouble(text));
+			} catch(NumberFormatException e) {
+				expected = e.getClass();
+			}
+			try {
+				actual = doubleConverter.getAsObject(line, start, end);
+			} catch(ConverterException e) {
+				actual = NumberFormatException.class;
+			}
+			assertEquals(text, expected, actual);
+			try {
+				actual = doubleConverter.getAsObject(text);
+			} catch(ConverterException e) {
+				actual = NumberFormatException.class;
+			}
+			assertEquals(text, expected, actual);
+			try {
+				expected = text.isEmpty() ? null : Float.valueOf(Float.parseFloat(text));
+			} catch(NumberFormatException e) {
+				expected = e.getClass();
+			}
+			try {
+				actual = floatConverter.getAsObject(line, start, end);
+			} catch(ConverterException e) {
+				actual = NumberFormatException.class;
+			}
+			assertEquals(text, expected, actual);
+		}
+	}
+
+	/**
+	 * @return random digits, dot and exponent
+	 */
+	private static String digits(Random random) {
+		StringBuilder sb = new StringBuilder();
+		if(random.nextBoolean()) sb.append('-');
+		int n = 1 + random.nextInt(22);
+		int dot = random.nextInt(n + 1);
+		for(int i = 0 ; i < n ; ++i) {
+			if(i == dot) sb.append('.');
+			sb.append((char) ('0' + random.nextInt(10)));
+		}
+		if(random.nextBoolean()) sb.append('e').append(random.nextInt(700) - 350);
+		return sb.toString();
+	}
+}
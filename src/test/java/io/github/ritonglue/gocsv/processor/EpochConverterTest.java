@@ -0,0 +1,125 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static io.github.ritonglue.gocsv.processor.CSVConverterTest.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+import io.github.ritonglue.gocsv.annotation.Convert;
+import io.github.ritonglue.gocsv.convert.ConverterException;
+import io.github.ritonglue.gocsv.convert.EpochMillisConverter;
+import io.github.ritonglue.gocsv.convert.EpochSecondsConverter;
+import io.github.ritonglue.gocsv.convert.InstantMillisConverter;
+
+public class EpochConverterTest {
+
+	@Test
+	public void testEngine() throws IOException {
+		String csv = "2024-01-02T10:15:30.123Z,1704190530123,1704190530\r\n"
+			+ "2024-01-02T10:15:30.123456Z,2024-01-02T10:15:30.123Z,2024-01-02T10:15:30.999Z\r\n";
+		for(ParserType parserType : ParserType.values()) {
+			CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.ORDER).parser(parserType)
+				.register(long.class, new EpochSecondsConverter()).build();
+			List<P1> list = toList(engine.parse(new StringReader(csv), CSVFormat.DEFAULT));
+			for(P1 p : list) {
+				assertEquals(1704190530123L, p.instant);
+				assertEquals(1704190530123L, p.millis);
+				assertEquals(1704190530L, p.seconds);
+			}
+			StringWriter writer = new StringWriter();
+			engine.write(list.subList(0, 1), writer, CSVFormat.DEFAULT);
+			assertEquals("2024-01-02T10:15:30.123Z,1704190530123,1704190530\r\n", writer.toString());
+		}
+	}
+
+	@Test
+	public void testSameAsInstant() {
+		Random random = new Random(42);
+		InstantMillisConverter converter = new InstantMillisConverter();
+		EpochSecondsConverter seconds = new EpochSecondsConverter();
+		for(int i = 0 ; i < 20_000 ; ++i) {
+			long epochMilli = random.nextLong() % 300_000_000_000_000L;
+			if(random.nextBoolean()) epochMilli = epochMilli / 1000 * 1000;
+			Instant instant = Instant.ofEpochMilli(epochMilli);
+			String text = DateTimeFormatter.ISO_INSTANT.format(instant);
+			assertEquals(text, converter.formatLong(epochMilli));
+			assertEquals(text, epochMilli, converter.parseLong(text));
+			assertEquals(text, instant.getEpochSecond(), seconds.parseLong(text));
+
+			instant = instant.plusNanos(random.nextInt(1_000_000));
+			text = DateTimeFormatter.ISO_INSTANT.format(instant);
+			assertEquals(text, instant.toEpochMilli(), converter.parseLong(text));
+			OffsetDateTime dateTime = instant.atOffset(ZoneOffset.ofTotalSeconds(random.nextInt(36000) / 60 * 60 * (random.nextBoolean() ? 1 : -1)));
+			text = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(dateTime);
+			assertEquals(text, isoInstant(text), parse(converter, text));
+		}
+	}
+
+	/**
+	 * ISO_INSTANT accepts an offset from Java 12 : same result as the formatter of the running JDK
+	 */
+	@Test
+	public void testOffset() {
+		InstantMillisConverter converter = new InstantMillisConverter();
+		for(String text : new String[] {"2024-01-01T00:00:00+01:00", "2024-01-01T00:00:00-00:00", "2024-01-01T00:00:00.5+05:30"}) {
+			assertEquals(text, isoInstant(text), parse(converter, text));
+		}
+	}
+
+	/**
+	 * @return the epoch milli, or the exception class
+	 */
+	private static Object isoInstant(String text) {
+		try {
+			return DateTimeFormatter.ISO_INSTANT.parse(text, Instant::from).toEpochMilli();
+		} catch(DateTimeException e) {
+			return ConverterException.class;
+		}
+	}
+
+	private static Object parse(InstantMillisConverter converter, String text) {
+		try {
+			return converter.parseLong(text);
+		} catch(ConverterException e) {
+			return ConverterException.class;
+		}
+	}
+
+	@Test
+	public void testInvalid() {
+		EpochMillisConverter converter = new EpochMillisConverter();
+		for(String text : new String[] {"-", "1.5", "2024-01-02", "2024-02-30T10:15:30Z", "2024-01-02T10:15Z", "99999999999999999999"}) {
+			try {
+				converter.parseLong(text);
+				fail(text);
+			} catch(ConverterException e) {
+			}
+		}
+	}
+
+	public static class P1 {
+		@CSVBinding(order = 0)
+		@Convert(converter = InstantMillisConverter.class)
+		long instant;
+		@CSVBinding(order = 1)
+		@Convert(converter = EpochMillisConverter.class)
+		long millis;
+		//registered
+		@CSVBinding(order = 2)
+		long seconds;
+	}
+}
@@ -0,0 +1,132 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static io.github.ritonglue.gocsv.processor.CSVConverterTest.toList;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+
+public class FileParserTest {
+
+	private static String csv(int n) {
+		return csv(n, false);
+	}
+
+	/**
+	 * @param strayQuotes true to add quotes inside unquoted values
+	 */
+	private static String csv(int n, boolean strayQuotes) {
+		StringBuilder sb = new StringBuilder("id,name,value\r\n");
+		for(int i = 0 ; i < n ; ++i) {
+			sb.append(i).append(',');
+			if(i % 7 == 0) {
+				sb.append("\"multi\nline, \"\"é\"\"\"");
+			} else if(strayQuotes && i % 5 == 3) {
+				sb.append("12\" pipe");
+			} else {
+				sb.append("name").append(i);
+			}
+			sb.append(',').append(i * 0.5).append("\r\n");
+		}
+		return sb.toString();
+	}
+
+	@Test
+	public void testSameAsSequential() throws IOException {
+		test(20_000, 4096, 65536);
+		//record cut anywhere
+		test(50, 1, 7, 64);
+	}
+
+	@Test
+	public void testStrayQuote() throws IOException {
+		test(csv(2_000, true), 2_000, 1, 7, 64, 4096);
+	}
+
+	private static void test(int n, int... chunkSizes) throws IOException {
+		test(csv(n), n, chunkSizes);
+	}
+
+	private static void test(String csv, int n, int... chunkSizes) throws IOException {
+		Path path = Files.createTempFile("gocsv", ".csv");
+		try {
+			Files.write(path, csv.getBytes(StandardCharsets.UTF_8));
+			CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.NAMED).build();
+			List<P1> expected = toList(engine.parse(new StringReader(csv), CSVFormat.DEFAULT));
+			assertEquals(n, expected.size());
+			for(int parallelism : new int[] {1, 4}) {
+				try(Stream<P1> stream = engine.parseFile(path, CSVFormat.DEFAULT, parallelism)) {
+					assertEquals(toString(expected), toString(stream.collect(Collectors.toList())));
+				}
+				try(Stream<P1> stream = engine.parseFile(path, CSVFormat.DEFAULT, parallelism, false)) {
+					List<P1> list = stream.sorted(Comparator.comparingInt(o -> o.id)).collect(Collectors.toList());
+					assertEquals(toString(expected), toString(list));
+				}
+			}
+			//small chunks
+			CSVFormat format = CSVFormat.DEFAULT.builder().setHeader().build();
+			for(int chunkSize : chunkSizes) {
+				try(Stream<P1> stream = FileParser.parse(engine, path, format, 3, true, chunkSize)) {
+					assertEquals(toString(expected), toString(stream.collect(Collectors.toList())));
+				}
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testSmallFile() throws IOException {
+		Path path = Files.createTempFile("gocsv", ".csv");
+		try {
+			Files.write(path, "\n\"a\nb\",c\n1,2\n".getBytes(StandardCharsets.UTF_8));
+			CSVEngine<P2> engine = CSVEngine.builder(P2.class).mode(Mode.ORDER).build();
+			CSVFormat format = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build();
+			try(Stream<P2> stream = engine.parseFile(path, format, 2)) {
+				List<P2> list = stream.collect(Collectors.toList());
+				assertEquals(1, list.size());
+				assertEquals("1", list.get(0).a);
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testFilter() throws IOException {
+		CSVEngine.builder(P2.class).mode(Mode.ORDER).filter(o -> true).build()
+			.parseFile(Path.of("none.csv"), CSVFormat.DEFAULT, 2);
+	}
+
+	private static String toString(List<P1> list) {
+		return list.stream().map(o -> o.id + "|" + o.name + "|" + o.value).collect(Collectors.joining("\n"));
+	}
+
+	public static class P1 {
+		@CSVBinding(header = "id")
+		int id;
+		@CSVBinding(header = "name")
+		String name;
+		@CSVBinding(header = "value")
+		double value;
+	}
+
+	public static class P2 {
+		@CSVBinding(order = 0)
+		String a;
+		@CSVBinding(order = 1)
+		String b;
+	}
+}
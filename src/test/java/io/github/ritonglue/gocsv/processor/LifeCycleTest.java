@@ -2,6 +2,7 @@ package io.github.ritonglue.gocsv.processor;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.io.StringReader;
@@ -114,4 +115,37 @@ public class LifeCycleTest {
 			this.firstname = firstname;
 		}
 	}
+
+	@Test
+	public void testCallbackException() throws IOException {
+		String csv = "firstname\r\nJohn\r\n";
+		//P3 has a generated binder, P4 is read by reflection
+		for(Class<?> clazz : new Class<?>[] {P3.class, P4.class}) {
+			CSVEngine<?> engine = CSVEngine.builder(clazz).mode(Mode.NAMED).build();
+			try {
+				engine.parseAsStream(new StringReader(csv), CSVFormat.DEFAULT).collect(Collectors.toList());
+				fail("callback exception expected");
+			} catch(RuntimeException e) {
+				assertTrue(clazz.getSimpleName(), e.getCause() instanceof IllegalStateException);
+			}
+		}
+	}
+
+	public static class P3 {
+		String firstname;
+
+		@PostLoad
+		void postLoad() {
+			throw new IllegalStateException(firstname);
+		}
+	}
+
+	public static class P4 {
+		String firstname;
+
+		@PostLoad
+		private void postLoad() {
+			throw new IllegalStateException(firstname);
+		}
+	}
 }
@@ -0,0 +1,111 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static io.github.ritonglue.gocsv.processor.CSVConverterTest.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+import io.github.ritonglue.gocsv.annotation.Convert;
+import io.github.ritonglue.gocsv.convert.CachingConverter;
+import io.github.ritonglue.gocsv.convert.DedupStringConverter;
+import io.github.ritonglue.gocsv.convert.StringConverter;
+
+public class MetadataCacheTest {
+
+	@Test
+	public void testHit() throws IOException {
+		CSVEngine.builder(P1.class).mode(Mode.ORDER).build();
+		long misses = MetadataCache.getMissCount();
+		long hits = MetadataCache.getHitCount();
+		for(int i = 0 ; i < 10 ; ++i) {
+			CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.NAMED).build();
+			List<P1> list = toList(engine.parse(new StringReader("b,a\r\n2,1\r\n"), CSVFormat.DEFAULT));
+			assertEquals("1", list.get(0).a);
+			assertEquals(Integer.valueOf(2), list.get(0).b);
+		}
+		assertEquals(misses, MetadataCache.getMissCount());
+		assertTrue(MetadataCache.getHitCount() >= hits + 10);
+	}
+
+	@Test
+	public void testOverrides() throws IOException {
+		CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.ORDER)
+			.register(String.class, new StringConverter() {
+				@Override
+				public String getAsObject(String value) {
+					return value == null ? null : value.toUpperCase();
+				}
+			})
+			.build();
+		List<P1> list = toList(engine.parse(new StringReader("x,1\r\n"), CSVFormat.DEFAULT));
+		assertEquals("X", list.get(0).a);
+
+		//the default converters are not altered
+		engine = CSVEngine.builder(P1.class).mode(Mode.ORDER).build();
+		list = toList(engine.parse(new StringReader("x,1\r\n"), CSVFormat.DEFAULT));
+		assertEquals("x", list.get(0).a);
+	}
+
+	@Test
+	public void testRegisterClass() {
+		CSVEngine<P1> engine1 = CSVEngine.builder(P1.class).mode(Mode.ORDER).register(String.class, UpperConverter.class).build();
+		CSVEngine<P1> engine2 = CSVEngine.builder(P1.class).mode(Mode.ORDER).register(String.class, UpperConverter.class).build();
+		assertSame(engine1.getConverter("a"), engine2.getConverter("a"));
+
+		//instances are not shared
+		engine1 = CSVEngine.builder(P1.class).mode(Mode.ORDER).register(String.class, new UpperConverter()).build();
+		engine2 = CSVEngine.builder(P1.class).mode(Mode.ORDER).register(String.class, new UpperConverter()).build();
+		assertNotSame(engine1.getConverter("a"), engine2.getConverter("a"));
+	}
+
+	@Test
+	public void testStatefulNotShared() {
+		CSVEngine<P1> engine1 = CSVEngine.builder(P1.class).mode(Mode.ORDER).dedup(true).cache("b", 10).build();
+		CSVEngine<P1> engine2 = CSVEngine.builder(P1.class).mode(Mode.ORDER).dedup(true).cache("b", 10).build();
+		assertTrue(engine1.getConverter("a") instanceof DedupStringConverter);
+		assertTrue(engine1.getConverter("b") instanceof CachingConverter);
+		assertNotSame(engine1.getConverter("a"), engine2.getConverter("a"));
+		assertNotSame(engine1.getConverter("b"), engine2.getConverter("b"));
+	}
+
+	@Test
+	public void testDeclaredNotShared() {
+		CSVEngine<P2> engine1 = CSVEngine.builder(P2.class).mode(Mode.ORDER).register(String.class, UpperConverter.class).build();
+		CSVEngine<P2> engine2 = CSVEngine.builder(P2.class).mode(Mode.ORDER).register(String.class, UpperConverter.class).build();
+		//the registered converter is shared, not the declared one
+		assertSame(engine1.getConverter("a"), engine2.getConverter("a"));
+		assertTrue(engine1.getConverter("b") instanceof UpperConverter);
+		assertNotSame(engine1.getConverter("b"), engine2.getConverter("b"));
+	}
+
+	public static class UpperConverter extends StringConverter {
+		@Override
+		public String getAsObject(String value) {
+			return value == null ? null : value.toUpperCase();
+		}
+	}
+
+	public static class P1 {
+		@CSVBinding(order = 0)
+		String a;
+		@CSVBinding(order = 1)
+		Integer b;
+	}
+
+	public static class P2 {
+		@CSVBinding(order = 0)
+		String a;
+		@CSVBinding(order = 1)
+		@Convert(converter = UpperConverter.class)
+		String b;
+	}
+}
@@ -0,0 +1,58 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+import io.github.ritonglue.gocsv.convert.ConverterException;
+
+public class ParseAllTest {
+
+	@Test
+	public void testParseAll() throws IOException, InterruptedException {
+		Path dir = Files.createTempDirectory("gocsv");
+		List<Path> paths = new ArrayList<>();
+		try {
+			for(int i = 0 ; i < 50 ; ++i) {
+				Path path = dir.resolve(i + ".csv");
+				String csv = i == 7 ? "id\r\nx\r\n" : "id\r\n" + i + "\r\n" + (i + 1) + "\r\n";
+				Files.write(path, csv.getBytes(StandardCharsets.UTF_8));
+				paths.add(path);
+			}
+			paths.add(dir.resolve("missing.csv"));
+			CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.NAMED).build();
+			Map<Path, FileResult<P1>> results = new ConcurrentHashMap<>();
+			engine.parseAll(paths, CSVFormat.DEFAULT, 3, o -> results.put(o.getPath(), o));
+			assertEquals(51, results.size());
+			FileResult<P1> result = results.get(paths.get(10));
+			assertTrue(result.isSuccess());
+			assertEquals(2, result.getRecords().size());
+			assertEquals(11, result.getRecords().get(1).id);
+			result = results.get(paths.get(7));
+			assertFalse(result.isSuccess());
+			assertTrue(result.getError() instanceof ConverterException);
+			assertTrue(results.get(paths.get(50)).getError() instanceof IOException);
+		} finally {
+			for(Path path : paths) Files.deleteIfExists(path);
+			Files.delete(dir);
+		}
+	}
+
+	public static class P1 {
+		@CSVBinding(header = "id")
+		int id;
+	}
+}
@@ -0,0 +1,106 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+import io.github.ritonglue.gocsv.annotation.PostLoad;
+import io.github.ritonglue.gocsv.convert.ConverterException;
+
+public class PipelineTest {
+
+	@Test
+	public void testOrder() throws IOException {
+		int n = 10 * Pipeline.BATCH_SIZE + 3;
+		String csv = "id,name\r\n" + IntStream.range(0, n).mapToObj(i -> i + ",name" + i + "\r\n").collect(Collectors.joining());
+		for(ParserType parserType : ParserType.values()) {
+			CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.NAMED).parser(parserType).build();
+			try(Stream<P1> stream = engine.parsePipelined(new StringReader(csv), CSVFormat.DEFAULT, 4)) {
+				List<P1> list = stream.collect(Collectors.toList());
+				assertEquals(n, list.size());
+				for(int i = 0 ; i < n ; ++i) {
+					assertEquals(i, list.get(i).id);
+					assertEquals("NAME" + i, list.get(i).name);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testError() throws IOException {
+		String csv = "id,name\r\n1,a\r\nx,b\r\n";
+		CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.NAMED).build();
+		try(Stream<P1> stream = engine.parsePipelined(new StringReader(csv), CSVFormat.DEFAULT, 2)) {
+			Iterator<P1> iterator = stream.iterator();
+			iterator.next();
+			fail();
+		} catch(ConverterException e) {
+		}
+	}
+
+	@Test
+	public void testClose() throws IOException {
+		String csv = IntStream.range(0, 100 * Pipeline.BATCH_SIZE).mapToObj(i -> i + ",a\r\n").collect(Collectors.joining());
+		CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.ORDER).build();
+		try(Stream<P1> stream = engine.parsePipelined(new StringReader(csv), CSVFormat.DEFAULT, 2)) {
+			assertEquals(0, stream.iterator().next().id);
+		}
+	}
+
+	/**
+	 * The reader thread stops even if the input swallows the interrupt
+	 */
+	@Test
+	public void testCloseSwallowedInterrupt() throws InterruptedException {
+		AtomicReference<Thread> readerThread = new AtomicReference<>();
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch closed = new CountDownLatch(1);
+		AtomicInteger count = new AtomicInteger();
+		//one worker : the queue is full after two batches
+		Pipeline<String> pipeline = new Pipeline<>(() -> {
+			if(count.incrementAndGet() <= 2 * Pipeline.BATCH_SIZE + 1) return new ArrayRow(new String[] {"a"}, null);
+			readerThread.set(Thread.currentThread());
+			blocked.countDown();
+			while(closed.getCount() > 0) {
+				try {
+					closed.await();
+				} catch (InterruptedException e) {
+					//swallowed
+				}
+			}
+			return null;
+		}, row -> row.get(0), 1);
+		blocked.await();
+		pipeline.close();
+		closed.countDown();
+		readerThread.get().join(10_000);
+		assertFalse(readerThread.get().isAlive());
+	}
+
+	public static class P1 {
+		@CSVBinding(header = "id", order = 0)
+		int id;
+		@CSVBinding(header = "name", order = 1)
+		String name;
+
+		@PostLoad
+		void postLoad() {
+			if(name != null) name = name.toUpperCase();
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static io.github.ritonglue.gocsv.processor.CSVConverterTest.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+import io.github.ritonglue.gocsv.convert.Converter;
+
+public class PrimitiveTest {
+
+	@Test
+	public void testReflect() throws IOException {
+		test(P1.class, false);
+		test(P1.class, true);
+	}
+
+	@Test
+	public void testGenerated() throws IOException {
+		test(P2.class, false);
+		test(P2.class, true);
+	}
+
+	@Test
+	public void testValueReader() {
+		List<AnnotationStorer> storers = ClassMetadata.of(P1.class).getStorers(Map.of());
+		assertTrue(storers.get(0).hasValueReader());
+		assertTrue(storers.get(0).hasValueWriter());
+
+		//not a primitive converter : boxed path
+		storers = ClassMetadata.of(P1.class).getStorers(Map.of(int.class, new Converter1()));
+		assertFalse(storers.get(0).hasValueReader());
+	}
+
+	private static <T extends Values> void test(Class<T> clazz, boolean codegen) throws IOException {
+		String csv = "1,2,3.5,true,x\r\n0,-2,0,false,y\r\n";
+		CSVEngine<T> engine = CSVEngine.builder(clazz).mode(Mode.ORDER).codegen(codegen).build();
+		List<T> list = toList(engine.parse(new StringReader(csv), CSVFormat.DEFAULT));
+		assertEquals(2, list.size());
+		assertEquals(1, list.get(0).i());
+		assertEquals(2L, list.get(0).l());
+		assertEquals(3.5, list.get(0).d(), 0);
+		assertTrue(list.get(0).b());
+		assertEquals(0, list.get(1).i());
+		assertEquals(-2L, list.get(1).l());
+		assertEquals(0, list.get(1).d(), 0);
+		assertFalse(list.get(1).b());
+
+		StringWriter writer = new StringWriter();
+		engine.write(list, writer, CSVFormat.DEFAULT);
+		assertEquals("1,2,3.5,true,x\r\n0,-2,0.0,false,y\r\n", writer.toString());
+	}
+
+	@Test
+	public void testReuseInstance() throws IOException {
+		String csv = "1,2,3.5,true,x\r\n0,-2,0,false,\r\n7\r\n";
+		for(ParserType parserType : ParserType.values()) {
+			CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.ORDER).parser(parserType).reuseInstance(true).build();
+			List<String> values = new ArrayList<>();
+			Set<P1> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+			engine.forEach(new StringReader(csv), CSVFormat.DEFAULT, o -> {
+				instances.add(o);
+				values.add(o.i + "|" + o.l + "|" + o.d + "|" + o.b + "|" + o.s);
+			});
+			assertEquals(Arrays.asList("1|2|3.5|true|x", "0|-2|0.0|false|", "7|0|0.0|false|null"), values);
+			assertEquals(1, instances.size());
+		}
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		//no value for a primitive, as a null one
+		String[] rows = {",2,3.5,true,x", "1, ,3.5,true,x", "1,2,,true,x", "1,2,3.5,,x"};
+		for(Class<? extends Values> clazz : Arrays.asList(P1.class, P2.class)) {
+			for(boolean codegen : new boolean[] {false, true}) {
+				for(ParserType parserType : ParserType.values()) {
+					CSVEngine<? extends Values> engine = CSVEngine.builder(clazz).mode(Mode.ORDER).codegen(codegen).parser(parserType).build();
+					for(String row : rows) {
+						try {
+							toList(engine.parse(new StringReader(row + "\r\n"), CSVFormat.DEFAULT));
+							fail(row);
+						} catch(RuntimeException e) {
+							assertTrue(row, e.getCause() instanceof NullPointerException);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testReuseConstructor() {
+		CSVEngine.builder(ConstructorTest.P1.class).mode(Mode.NAMED).reuseInstance(true).build();
+	}
+
+	public interface Values {
+		int i();
+		long l();
+		double d();
+		boolean b();
+	}
+
+	/**
+	 * bound by reflection : private field without getter and setter
+	 */
+	public static class P1 implements Values {
+		@CSVBinding(order = 0)
+		int i;
+		@CSVBinding(order = 1)
+		long l;
+		@CSVBinding(order = 2)
+		double d;
+		@CSVBinding(order = 3)
+		boolean b;
+		@CSVBinding(order = 4)
+		private String s;
+
+		public int i() {return i;}
+		public long l() {return l;}
+		public double d() {return d;}
+		public boolean b() {return b;}
+	}
+
+	public static class P2 implements Values {
+		@CSVBinding(order = 0)
+		int i;
+		@CSVBinding(order = 1)
+		long l;
+		@CSVBinding(order = 2)
+		double d;
+		@CSVBinding(order = 3)
+		boolean b;
+		@CSVBinding(order = 4)
+		String s;
+
+		public int i() {return i;}
+		public long l() {return l;}
+		public double d() {return d;}
+		public boolean b() {return b;}
+	}
+
+	public static class Converter1 implements Converter<Integer> {
+		@Override
+		public Integer getAsObject(String value) {
+			return Integer.valueOf(value);
+		}
+
+		@Override
+		public String getAsString(Integer value) {
+			return value.toString();
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static io.github.ritonglue.gocsv.processor.CSVConverterTest.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+import io.github.ritonglue.gocsv.annotation.Convert;
+import io.github.ritonglue.gocsv.convert.ConverterException;
+import io.github.ritonglue.gocsv.convert.ScaledLongConverter;
+
+public class ScaledLongTest {
+
+	@Test
+	public void testEngine() throws IOException {
+		test(P1.class, o -> o.amount);
+		test(P2.class, o -> o.amount);
+	}
+
+	private static <T> void test(Class<T> clazz, ToLongFunction<T> amount) throws IOException {
+		String csv = "123.45\r\n-0.5\r\n7\r\n0\r\n";
+		for(ParserType parserType : ParserType.values()) {
+			CSVEngine<T> engine = CSVEngine.builder(clazz).mode(Mode.ORDER).parser(parserType).build();
+			assertTrue(engine.getConverter("amount") instanceof ScaledLongConverter);
+			List<T> list = toList(engine.parse(new StringReader(csv), CSVFormat.DEFAULT.builder().setIgnoreEmptyLines(false).build()));
+			assertEquals(12345L, amount.applyAsLong(list.get(0)));
+			assertEquals(-50L, amount.applyAsLong(list.get(1)));
+			assertEquals(700L, amount.applyAsLong(list.get(2)));
+			assertEquals(0L, amount.applyAsLong(list.get(3)));
+			StringWriter writer = new StringWriter();
+			engine.write(list, writer, CSVFormat.DEFAULT);
+			assertEquals("123.45\r\n-0.50\r\n7.00\r\n0.00\r\n", writer.toString());
+		}
+	}
+
+	@Test
+	public void testConverter() {
+		ScaledLongConverter converter = new ScaledLongConverter(2);
+		assertEquals(12345L, converter.parseLong(" 123.450 "));
+		assertEquals(5L, converter.parseLong(".05"));
+		assertEquals(Long.MIN_VALUE, converter.parseLong("-92233720368547758.08"));
+		assertEquals("-92233720368547758.08", converter.formatLong(Long.MIN_VALUE));
+		assertEquals("0.05", converter.formatLong(5));
+		assertEquals("-123", new ScaledLongConverter(0).formatLong(-123));
+		for(String text : new String[] {"1.234", "92233720368547758.08", "1e2", "", ".", "-", "1.2.3", "1,5"}) {
+			try {
+				converter.parseLong(text);
+				fail(text);
+			} catch(ConverterException e) {
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNotLong() {
+		CSVEngine.builder(P3.class).mode(Mode.ORDER).build();
+	}
+
+	/**
+	 * bound by reflection
+	 */
+	public static class P1 {
+		@CSVBinding(order = 0)
+		@Convert(scale = 2)
+		private long amount;
+	}
+
+	public static class P2 {
+		@CSVBinding(order = 0)
+		@Convert(scale = 2)
+		long amount;
+	}
+
+	public static class P3 {
+		@CSVBinding(order = 0)
+		@Convert(scale = 2)
+		int amount;
+	}
+}
@@ -0,0 +1,278 @@
+package io.github.ritonglue.gocsv.processor;
+
+import static io.github.ritonglue.gocsv.processor.CSVConverterTest.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.Test;
+
+import io.github.ritonglue.gocsv.annotation.CSVBinding;
+import io.github.ritonglue.gocsv.annotation.Convert;
+import io.github.ritonglue.gocsv.convert.Converter;
+
+public class TokenizerTest {
+	private static final String[] INPUTS = {
+		"",
+		"a",
+		"a,b\r\nc,d\r\n",
+		"a,b\nc,d",
+		"a,b\rc,d\r",
+		"a,,\n,b,\n",
+		"a\n\n\nb\n",
+		"\"a,b\",\"c\"\"d\"\n\"multi\nline\",e\r\n",
+		"\"\"\n\"\",\"\"\n",
+		"  a  , b ,\" c \"  ,d\n",
+		"#comment\na,b\n# other\n",
+		"x\\,y,a\\\\b,c\\nd,e\\qf\n",
+		"\"x\\\"y\",z\n",
+		"h1,h2,H3\n1,2,3\n4,5,6\n",
+		"é,€, x \n",
+	};
+
+	private static final CSVFormat[] FORMATS = {
+		CSVFormat.DEFAULT,
+		CSVFormat.DEFAULT.builder().setIgnoreEmptyLines(false).build(),
+		CSVFormat.DEFAULT.builder().setTrim(true).build(),
+		CSVFormat.DEFAULT.builder().setIgnoreSurroundingSpaces(true).build(),
+		CSVFormat.DEFAULT.builder().setCommentMarker('#').build(),
+		CSVFormat.DEFAULT.builder().setEscape('\\').build(),
+		CSVFormat.DEFAULT.builder().setQuote(null).setEscape('\\').build(),
+		CSVFormat.DEFAULT.builder().setDelimiter(';').build(),
+		CSVFormat.TDF,
+	};
+
+	@Test
+	public void testSameAsCommons() {
+		for(CSVFormat format : FORMATS) {
+			for(String input : INPUTS) {
+				for(int bufferSize : new int[] {1, 3, 1 << 16}) {
+					check(input, format, bufferSize);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testRandom() {
+		Random random = new Random(42);
+		String alphabet = "ab ,;\t#\"\r\n\\";
+		for(CSVFormat format : FORMATS) {
+			for(int n = 0 ; n < 1000 ; ++n) {
+				StringBuilder sb = new StringBuilder();
+				int length = random.nextInt(30);
+				for(int i = 0 ; i < length ; ++i) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+				check(sb.toString(), format, 2);
+			}
+		}
+	}
+
+	@Test
+	public void testColumnLimit() {
+		for(CSVFormat format : FORMATS) {
+			for(String input : INPUTS) {
+				for(int columnLimit : new int[] {1, 2}) {
+					check(input, format, 3, columnLimit);
+				}
+			}
+		}
+	}
+
+	private static void check(String input, CSVFormat format, int bufferSize) {
+		check(input, format, bufferSize, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Same records or failure as commons-csv, records cut after columnLimit values
+	 */
+	private static void check(String input, CSVFormat format, int bufferSize, int columnLimit) {
+		List<List<String>> expected;
+		try {
+			expected = commons(input, format);
+		} catch(IOException | IllegalStateException e) {
+			try {
+				tokenize(input, format, bufferSize, columnLimit);
+				fail(input + " " + format);
+			} catch(IllegalStateException ee) {
+			}
+			return;
+		}
+		for(int i = 0 ; i < expected.size() ; ++i) {
+			List<String> values = expected.get(i);
+			expected.set(i, values.subList(0, Math.min(columnLimit, values.size())));
+		}
+		assertEquals(input + " " + format, expected, tokenize(input, format, bufferSize, columnLimit));
+	}
+
+	@Test
+	public void testHeader() {
+		CSVFormat format = CSVFormat.DEFAULT.builder().setHeader().setIgnoreHeaderCase(true).build();
+		Tokenizer tokenizer = new Tokenizer(new StringReader("h1,h2,H3\n1,2,3\n"), format);
+		assertEquals(Integer.valueOf(2), tokenizer.getHeaderMap().get("h3"));
+		format = CSVFormat.DEFAULT.builder().setHeader("x", "y").setSkipHeaderRecord(true).build();
+		tokenizer = new Tokenizer(new StringReader("h1,h2\n1,2\n"), format);
+		assertEquals(Integer.valueOf(1), tokenizer.getHeaderMap().get("y"));
+		assertEquals(true, tokenizer.next());
+		assertEquals("1", tokenizer.get(0));
+	}
+
+	@Test
+	public void testEngine() throws IOException {
+		String csv = "b,a,c\r\n\" x \",1,2.5\r\n\"y\"\"\",0,\r\n";
+		for(ParserType parserType : ParserType.values()) {
+			CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.NAMED).parser(parserType).build();
+			List<P1> list = toList(engine.parse(new StringReader(csv), CSVFormat.DEFAULT));
+			assertEquals(2, list.size());
+			assertEquals(1, list.get(0).a);
+			assertEquals(" x ", list.get(0).b);
+			assertEquals(Double.valueOf(2.5), list.get(0).c);
+			assertEquals(0, list.get(1).a);
+			assertEquals("y\"", list.get(1).b);
+			assertEquals(null, list.get(1).c);
+		}
+	}
+
+	@Test
+	public void testSelect() throws IOException {
+		String csv = "b,a,c,d\r\nx,1,2.5,\"q\"\"\"\r\n\"y\",2,3,4\r\n";
+		for(ParserType parserType : ParserType.values()) {
+			CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.NAMED).parser(parserType).select("a", "b").build();
+			List<P1> list = toList(engine.parse(new StringReader(csv), CSVFormat.DEFAULT));
+			assertEquals(2, list.size());
+			assertEquals(2, list.get(1).a);
+			assertEquals("y", list.get(1).b);
+			assertEquals(null, list.get(1).c);
+		}
+	}
+
+	@Test
+	public void testWhere() throws IOException {
+		String csv = "b,a,c\r\nx,1,2.5\r\ny,2,\r\nz,3,4\r\n";
+		for(ParserType parserType : ParserType.values()) {
+			int[] created = new int[1];
+			CSVEngine<P1> engine = CSVEngine.builder(P1.class).mode(Mode.NAMED).parser(parserType)
+				.where("c", Double.class, v -> v != null)
+				.where("a", Number.class, v -> v.intValue() > 1)
+				.where("c", Double.class, v -> ++created[0] > 0)
+				.select("b")
+				.build();
+			List<P1> list = toList(engine.parse(new StringReader(csv), CSVFormat.DEFAULT));
+			assertEquals(1, list.size());
+			assertEquals("z", list.get(0).b);
+			//not selected
+			assertEquals(0, list.get(0).a);
+			assertEquals(1, created[0]);
+		}
+	}
+
+	@Test
+	public void testWhereConvertedOnce() throws IOException {
+		String csv = "b,a\r\nx,1\r\ny,0\r\nz,3\r\n";
+		for(ParserType parserType : ParserType.values()) {
+			for(boolean codegen : new boolean[] {false, true}) {
+				CountingConverter.count = 0;
+				CSVEngine<P2> engine = CSVEngine.builder(P2.class).mode(Mode.NAMED).parser(parserType).codegen(codegen)
+					.where("b", String.class, v -> !v.equals("X"))
+					.where("a", Integer.class, v -> true)
+					.build();
+				List<P2> list = toList(engine.parse(new StringReader(csv), CSVFormat.DEFAULT));
+				assertEquals(2, list.size());
+				assertEquals("Y", list.get(0).b);
+				assertEquals(0, list.get(0).a);
+				assertEquals("Z", list.get(1).b);
+				assertEquals(3, list.get(1).a);
+				assertEquals(3, CountingConverter.count);
+
+				CountingConverter.count = 0;
+				engine.parseColumns(new StringReader(csv), CSVFormat.DEFAULT, 10, batch -> {
+					assertEquals(2, batch.size());
+					assertEquals("Z", batch.getStrings("b").get(1));
+					assertEquals(3, batch.getInts("a").get(1));
+				});
+				assertEquals(3, CountingConverter.count);
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWhereType() {
+		CSVEngine.builder(P1.class).mode(Mode.NAMED).where("b", Integer.class, v -> true).build();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSelectUnknown() {
+		CSVEngine.builder(P1.class).mode(Mode.NAMED).select("z").build();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFilter() {
+		CSVEngine.builder(P1.class).mode(Mode.NAMED).parser(ParserType.NATIVE).filter(o -> true).build();
+	}
+
+	private static List<List<String>> commons(String input, CSVFormat format) throws IOException {
+		List<List<String>> list = new ArrayList<>();
+		try(CSVParser parser = format.parse(new StringReader(input))) {
+			for(CSVRecord record : parser) {
+				List<String> values = new ArrayList<>();
+				record.forEach(values::add);
+				list.add(values);
+			}
+		}
+		return list;
+	}
+
+	private static List<List<String>> tokenize(String input, CSVFormat format, int bufferSize, int columnLimit) {
+		List<List<String>> list = new ArrayList<>();
+		Tokenizer tokenizer = new Tokenizer(new StringReader(input), format, bufferSize);
+		tokenizer.setColumnLimit(columnLimit);
+		while(tokenizer.next()) {
+			List<String> values = new ArrayList<>();
+			for(int i = 0 ; i < tokenizer.size() ; ++i) {
+				assertEquals(tokenizer.get(i), tokenizer.chars(i).subSequence(tokenizer.start(i), tokenizer.end(i)).toString());
+				values.add(tokenizer.get(i));
+			}
+			list.add(values);
+		}
+		return list;
+	}
+
+	public static class CountingConverter implements Converter<String> {
+		static int count;
+
+		@Override
+		public String getAsObject(String value) {
+			++count;
+			return value == null ? null : value.toUpperCase();
+		}
+
+		@Override
+		public String getAsString(String value) {
+			return value;
+		}
+	}
+
+	public static class P2 {
+		@CSVBinding(order = 0)
+		int a;
+		@CSVBinding(order = 1)
+		@Convert(converter = CountingConverter.class)
+		String b;
+	}
+
+	public static class P1 {
+		@CSVBinding(order = 0)
+		int a;
+		@CSVBinding(order = 1)
+		String b;
+		@CSVBinding(order = 2)
+		Double c;
+	}
+}